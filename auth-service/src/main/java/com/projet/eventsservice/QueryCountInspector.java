@@ -0,0 +1,31 @@
+package com.projet.eventsservice;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Compte les instructions SQL préparées par Hibernate sur le thread courant,
+// uniquement pendant une requête HTTP (voir JpaMetricsConfig)
+// Copie identique dans les trois services : les garder synchronisées.
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    // renvoie le total et arrête le comptage
+    static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+}
@@ -2,6 +2,7 @@ package com.projet.eventsservice.controller;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.springframework.http.ResponseEntity;
@@ -23,6 +24,7 @@ import com.projet.eventsservice.dto.UserResponse;
 import com.projet.eventsservice.model.User;
 import com.projet.eventsservice.repository.UserRepository;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 
 @RestController
@@ -31,8 +33,12 @@ import jakarta.validation.Valid;
 @CrossOrigin(origins = "*", allowedHeaders = "*", methods = { org.springframework.web.bind.annotation.RequestMethod.GET,
         org.springframework.web.bind.annotation.RequestMethod.POST, org.springframework.web.bind.annotation.RequestMethod.PUT,
         org.springframework.web.bind.annotation.RequestMethod.DELETE, org.springframework.web.bind.annotation.RequestMethod.OPTIONS })
+@Timed(value = "controller.requests", histogram = true)
 public class AuthController {
 
+    // nombre maximal d'ids acceptés par POST /api/auth/users/batch
+    private static final int MAX_BATCH = 1000;
+
     private final UserRepository userRepository;
     private final TokenService tokenService;
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
@@ -126,6 +132,19 @@ public class AuthController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // POST /api/auth/users/batch : infos publiques de plusieurs utilisateurs (corps : liste d'ids)
+    @PostMapping("/users/batch")
+    public ResponseEntity<?> getUsersByIds(@RequestBody List<Long> ids) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.size() > MAX_BATCH) {
+            return ResponseEntity.badRequest().body("Trop d'identifiants (max " + MAX_BATCH + ").");
+        }
+        if (distinctIds.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+        return ResponseEntity.ok(userRepository.findResponsesByIdIn(distinctIds));
+    }
+
     // GET /api/auth/users/participants : liste de tous les utilisateurs avec le rôle PARTICIPANT
     @GetMapping("/users/participants")
     public List<UserResponse> getAllParticipants() {
@@ -1,10 +1,14 @@
 package com.projet.eventsservice.repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.projet.eventsservice.dto.UserResponse;
 import com.projet.eventsservice.model.User;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -20,4 +24,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmailIgnoreCase(String email);
 
     boolean existsByEmailIgnoreCase(String email);
+
+    // Infos publiques de plusieurs utilisateurs en une requête, sans charger les entités (ni passwordHash)
+    @Query("select new com.projet.eventsservice.dto.UserResponse(u.id, u.email, u.fullName, u.role) "
+            + "from User u where u.id in :ids")
+    List<UserResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
 }
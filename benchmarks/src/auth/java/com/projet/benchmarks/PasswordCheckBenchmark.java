@@ -0,0 +1,43 @@
+package com.projet.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// Vérification BCrypt faite à chaque POST /api/auth/login (même encodeur qu'AuthController, coût 10)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordCheckBenchmark {
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        hash = passwordEncoder.encode("motdepasse-benchmark");
+    }
+
+    @Benchmark
+    public boolean matchesValidPassword() {
+        return passwordEncoder.matches("motdepasse-benchmark", hash);
+    }
+
+    @Benchmark
+    public boolean matchesWrongPassword() {
+        return passwordEncoder.matches("mauvais-motdepasse", hash);
+    }
+}
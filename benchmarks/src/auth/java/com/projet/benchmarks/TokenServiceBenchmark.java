@@ -0,0 +1,77 @@
+package com.projet.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.projet.eventsservice.TokenService;
+import com.projet.eventsservice.model.User;
+
+// TokenService sous contention : beaucoup de vérifications de jeton pendant que d'autres threads
+// se connectent (generateToken) et se déconnectent (invalidateToken).
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final int ACTIVE_TOKENS = 10_000;
+
+    private TokenService tokenService;
+    private String[] tokens;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        tokenService = new TokenService();
+        user = new User();
+        user.setId(1L);
+        user.setEmail("bench@example.com");
+        user.setRole("PARTICIPANT");
+        tokens = new String[ACTIVE_TOKENS];
+        for (int i = 0; i < ACTIVE_TOKENS; i++) {
+            tokens[i] = tokenService.generateToken(user);
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public User lookup() {
+        return tokenService.getUserByToken(tokens[ThreadLocalRandom.current().nextInt(ACTIVE_TOKENS)]);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public User loginLogout() {
+        String token = tokenService.generateToken(user);
+        User found = tokenService.getUserByToken(token);
+        tokenService.invalidateToken(token);
+        return found;
+    }
+
+    // référence sans contention
+    @Benchmark
+    @Group("uncontended")
+    @GroupThreads(1)
+    public String generateInvalidate() {
+        String token = tokenService.generateToken(user);
+        tokenService.invalidateToken(token);
+        return token;
+    }
+}
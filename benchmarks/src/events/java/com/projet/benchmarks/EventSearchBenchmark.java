@@ -0,0 +1,139 @@
+package com.projet.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+
+import com.projet.eventsservice.model.Event;
+import com.projet.eventsservice.model.Registration;
+import com.projet.eventsservice.repository.EventRepository;
+import com.projet.eventsservice.repository.EventSpecifications;
+import com.projet.eventsservice.service.EventSearchIndex;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+// Requêtes de GET /api/events/search (Specification -> SQL -> entités) et GET /api/events/search/text
+// (index trigrammes puis chargement par id) sur une base H2 en mémoire, sans contexte Spring :
+// seuls le repository JPA et EventSearchIndex sont montés, comme les appelle EventController.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSearchBenchmark {
+
+    private static final String[] WORDS = { "conference", "atelier", "formation", "meetup", "java", "spring",
+            "cloud", "data", "securite", "devops", "design", "mobile", "web", "startup", "innovation" };
+    private static final String[] CITIES = { "Paris", "Lyon", "Marseille", "Lille", "Nantes", "Bordeaux",
+            "Toulouse", "Rennes", "Strasbourg", "Nice" };
+    private static final String[] TYPES = { "conférence", "formation", "atelier", "salon" };
+
+    @Param({ "5000" })
+    public int events;
+
+    private StandardServiceRegistry registry;
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private EventRepository repository;
+    private EventSearchIndex searchIndex;
+
+    @Setup
+    public void setUp() {
+        registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:events-bench;DB_CLOSE_DELAY=-1")
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                // noms de colonnes comme dans le service (event_id...)
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .build();
+        sessionFactory = new MetadataSources(registry).addAnnotatedClass(Event.class)
+                .addAnnotatedClass(Registration.class)
+                .buildMetadata().buildSessionFactory();
+        entityManager = sessionFactory.createEntityManager();
+
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+        entityManager.getTransaction().begin();
+        for (int i = 0; i < events; i++) {
+            Event event = new Event();
+            event.setTitre(WORDS[i % WORDS.length] + " " + WORDS[(i * 7 + 3) % WORDS.length] + " " + i);
+            event.setDescription("Description de l'événement " + i);
+            event.setLieu(CITIES[(i * 3) % CITIES.length]);
+            event.setType(TYPES[i % TYPES.length]);
+            event.setDateDebut(base.plusHours(i * 5L));
+            event.setDateFin(base.plusHours(i * 5L + 3));
+            event.setOrganisateurId((long) (i % 50));
+            entityManager.persist(event);
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+
+        repository = new JpaRepositoryFactory(entityManager).getRepository(EventRepository.class);
+        searchIndex = new EventSearchIndex(repository, new SimpleMeterRegistry());
+        searchIndex.rebuild();
+        entityManager.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    @Benchmark
+    public List<Event> searchByKeyword() {
+        return clearAfter(repository.findAll(EventSpecifications.titreContient("spring"), Sort.by("dateDebut")));
+    }
+
+    @Benchmark
+    public List<Event> searchAllFilters() {
+        Specification<Event> filters = Specification.where(EventSpecifications.titreContient("java"))
+                .and(EventSpecifications.lieuContient("paris"))
+                .and(EventSpecifications.typeContient("conf"))
+                .and(EventSpecifications.commenceApres(LocalDateTime.of(2025, 3, 1, 0, 0)))
+                .and(EventSpecifications.termineAvant(LocalDateTime.of(2026, 3, 1, 0, 0)));
+        return clearAfter(repository.findAll(filters, Sort.by("dateDebut")));
+    }
+
+    @Benchmark
+    public List<Long> searchTextIndex() {
+        return searchIndex.search("conference paris", 20);
+    }
+
+    // index puis chargement des événements trouvés, comme GET /api/events/search/text
+    @Benchmark
+    public List<Event> searchTextAndLoad() {
+        return clearAfter(repository.findAllById(searchIndex.search("conference paris", 20)));
+    }
+
+    // chaque requête HTTP a son propre contexte de persistance : on le vide pour ne pas mesurer des entités déjà chargées
+    private List<Event> clearAfter(List<Event> result) {
+        entityManager.clear();
+        return result;
+    }
+}
@@ -0,0 +1,113 @@
+package com.projet.benchmarks;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.projet.eventsservice.model.Event;
+import com.projet.eventsservice.model.Registration;
+
+// (Dé)sérialisation JSON des entités exposées par events-service, avec un ObjectMapper configuré comme celui de Spring Boot
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    private ObjectWriter writer;
+    private ObjectReader eventReader;
+    private ObjectReader registrationReader;
+
+    private Event event;
+    private Registration registration;
+    private List<Event> eventList;
+
+    private byte[] eventJson;
+    private byte[] registrationJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = mapper.writer();
+        eventReader = mapper.readerFor(Event.class);
+        registrationReader = mapper.readerFor(Registration.class);
+
+        LocalDateTime now = LocalDateTime.of(2025, 11, 18, 18, 0);
+        event = event(1L, now);
+        eventList = new ArrayList<>();
+        for (long i = 1; i <= 100; i++) {
+            eventList.add(event(i, now.plusDays(i)));
+        }
+
+        registration = new Registration();
+        registration.setId(10L);
+        registration.setEventId(1L);
+        registration.setParticipantId(4242L);
+        registration.setDateInscription(now);
+        registration.setStatut("INSCRIT");
+
+        eventJson = writer.writeValueAsBytes(event);
+        registrationJson = writer.writeValueAsBytes(registration);
+    }
+
+    private static Event event(Long id, LocalDateTime start) {
+        Event e = new Event();
+        e.setId(id);
+        e.setTitre("Conférence Spring Cloud et microservices " + id);
+        e.setDescription("Une journée pour découvrir la mise en place d'une architecture microservices.");
+        e.setLieu("Paris");
+        e.setType("conférence");
+        e.setDateDebut(start);
+        e.setDateFin(start.plusHours(8));
+        e.setImageUrl("/api/files/affiche-" + id + ".png");
+        e.setProgrammeUrl("/api/files/programme-" + id + ".pdf");
+        e.setOrganisateurId(3L);
+        e.setVersion(2L);
+        return e;
+    }
+
+    @Benchmark
+    public byte[] writeEvent() throws JsonProcessingException {
+        return writer.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] writeEventList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(eventList);
+    }
+
+    @Benchmark
+    public Event readEvent() throws IOException {
+        return eventReader.readValue(eventJson);
+    }
+
+    @Benchmark
+    public byte[] writeRegistration() throws JsonProcessingException {
+        return writer.writeValueAsBytes(registration);
+    }
+
+    @Benchmark
+    public Registration readRegistration() throws IOException {
+        return registrationReader.readValue(registrationJson);
+    }
+}
@@ -0,0 +1,59 @@
+package com.projet.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.projet.eventsservice.dto.UserInfo;
+import com.projet.eventsservice.model.Event;
+import com.projet.eventsservice.service.RegistrationMessages;
+
+// Construction des messages envoyés lors d'une inscription (POST /api/registrations),
+// infos du participant déjà résolues.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistrationMessagesBenchmark {
+
+    private Event event;
+    private UserInfo participant;
+    private final Long participantId = 4242L;
+
+    @Setup
+    public void setUp() {
+        event = new Event();
+        event.setId(17L);
+        event.setTitre("Conférence Spring Cloud et microservices");
+        event.setOrganisateurId(3L);
+        participant = new UserInfo();
+        participant.setId(participantId);
+        participant.setFullName("Camille Martin");
+        participant.setEmail("camille.martin@example.com");
+    }
+
+    @Benchmark
+    public void registrationMessages(Blackhole bh) {
+        String eventTitle = RegistrationMessages.eventTitle(event.getId(), event);
+        bh.consume(RegistrationMessages.confirmation(eventTitle));
+        bh.consume(RegistrationMessages.organizerRegistration(participantId, participant, eventTitle));
+    }
+
+    @Benchmark
+    public String organizerMessageWithoutUser() {
+        return RegistrationMessages.organizerRegistration(participantId, null,
+                RegistrationMessages.eventTitle(event.getId(), null));
+    }
+}
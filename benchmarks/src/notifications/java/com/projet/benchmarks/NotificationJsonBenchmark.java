@@ -0,0 +1,66 @@
+package com.projet.benchmarks;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.projet.eventsservice.model.Notification;
+
+// (Dé)sérialisation JSON des notifications, avec un ObjectMapper configuré comme celui de Spring Boot
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationJsonBenchmark {
+
+    private ObjectWriter writer;
+    private ObjectReader notificationReader;
+
+    private Notification notification;
+    private byte[] notificationJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = mapper.writer();
+        notificationReader = mapper.readerFor(Notification.class);
+
+        notification = new Notification();
+        notification.setId(99L);
+        notification.setParticipantId(4242L);
+        notification.setEventId(1L);
+        notification.setType("CONFIRMATION_INSCRIPTION");
+        notification.setMessage("Votre inscription à Conférence Spring Cloud et microservices est confirmée.");
+        notification.setDateCreation(LocalDateTime.of(2025, 11, 18, 18, 0));
+
+        notificationJson = writer.writeValueAsBytes(notification);
+    }
+
+    @Benchmark
+    public byte[] writeNotification() throws JsonProcessingException {
+        return writer.writeValueAsBytes(notification);
+    }
+
+    @Benchmark
+    public Notification readNotification() throws IOException {
+        return notificationReader.readValue(notificationJson);
+    }
+}
@@ -43,6 +43,7 @@ export class DashboardOrganisateurComponent implements OnInit {
   selectedEventRegistrations: Registration[] = [];
   participantsLoading: boolean = false;
   participantsError?: string;
+  decidingAll: boolean = false;
 
   // événement en cours de création
   newEvent: EventModel = {
@@ -101,21 +102,19 @@ export class DashboardOrganisateurComponent implements OnInit {
     this.participantsStats = {};
     this.totalRegistrations = 0;
 
-    // pour chaque événement on récupère ses inscriptions
-    this.events.forEach(ev => {
-      if (!ev.id) return;
+    const ids = this.events.map(ev => ev.id).filter((id): id is number => !!id);
+    if (ids.length === 0) return;
 
-      this.registrationsService.getRegistrationsByEvent(ev.id).subscribe({
-        next: (regs) => {
-          this.participantsStats[ev.id!] = regs.length;
-          this.totalRegistrations = Object.values(this.participantsStats)
-            .reduce((sum, nb) => sum + nb, 0);
-        },
-        error: () => {
-          // en cas d’erreur sur un event, on laisse juste 0
-          this.participantsStats[ev.id!] = 0;
-        }
-      });
+    // un seul appel : les comptages sont faits côté serveur
+    this.registrationsService.getStats(ids).subscribe({
+      next: (stats) => {
+        stats.forEach(s => this.participantsStats[s.eventId] = s.total);
+        this.totalRegistrations = stats.reduce((sum, s) => sum + s.total, 0);
+      },
+      error: () => {
+        // en cas d’erreur, les compteurs restent à 0
+        this.participantsStats = {};
+      }
     });
   }
 
@@ -235,4 +234,40 @@ export class DashboardOrganisateurComponent implements OnInit {
       }
     });
   }
+
+  // inscriptions sur lesquelles l'organisateur n'a pas encore décidé
+  pendingRegistrations(): Registration[] {
+    return this.selectedEventRegistrations.filter(r => r.statut !== 'ACCEPTEE' && r.statut !== 'REFUSEE');
+  }
+
+  // accepter ou refuser toutes les inscriptions en attente en une seule requête
+  decideAll(decision: 'ACCEPTEE' | 'REFUSEE'): void {
+    const eventId = this.selectedEvent?.id;
+    const participantIds = this.pendingRegistrations().map(r => r.participantId);
+    if (!eventId || participantIds.length === 0) return;
+
+    this.decidingAll = true;
+    this.participantsError = undefined;
+
+    this.registrationsService.updateStatusBulk(eventId, participantIds, decision).subscribe({
+      next: (res) => {
+        const updated = new Set(res.results
+          .filter(r => r.outcome === 'MIS_A_JOUR')
+          .map(r => r.participantId));
+        this.selectedEventRegistrations.forEach(r => {
+          if (updated.has(r.participantId)) {
+            r.statut = res.statut;
+          }
+        });
+        this.success = decision === 'ACCEPTEE'
+          ? `${res.updated} inscription(s) acceptée(s).`
+          : `${res.updated} inscription(s) refusée(s).`;
+        this.decidingAll = false;
+      },
+      error: () => {
+        this.participantsError = 'Erreur lors de la mise à jour des inscriptions.';
+        this.decidingAll = false;
+      }
+    });
+  }
 }
@@ -60,8 +60,9 @@ export class EventDetailComponent implements OnInit {
     this.eventsService.getEvent(id).subscribe({
       next: (data) => {
         // Si l'URL de l'image est relative (/api/files/xxx), on la rend absolue via le gateway
+        // et on demande la version réduite (l'original est servi tant qu'elle n'est pas prête)
         if (data.imageUrl && data.imageUrl.startsWith('/')) {
-          data.imageUrl = `${this.gatewayBase}${data.imageUrl}`;
+          data.imageUrl = `${this.gatewayBase}${data.imageUrl}?size=preview`;
         }
         this.event = data;
         this.loading = false;
@@ -36,6 +36,7 @@ export class EventsListComponent implements OnInit {
   dateDebut: string = '';
   dateFin: string = '';
   showAdvanced = false;
+  private readonly gatewayBase = 'http://localhost:8080';
 
   constructor(private eventsService: EventsService) {}
 
@@ -99,6 +100,16 @@ export class EventsListComponent implements OnInit {
     this.loadEvents();
   }
 
+  // miniature servie par events-service (?size=thumb) : quelques Ko au lieu de l'affiche d'origine
+  thumbnailUrl(event: EventModel): string | null {
+    if (!event.imageUrl) {
+      return null;
+    }
+    return event.imageUrl.startsWith('/')
+      ? `${this.gatewayBase}${event.imageUrl}?size=thumb`
+      : event.imageUrl;
+  }
+
   toggleAdvanced(): void {
     this.showAdvanced = !this.showAdvanced;
   }
@@ -11,3 +11,8 @@ export interface NotificationModel {
   /** Message d'origine pour pouvoir revenir en arrière localement */
   originalMessage?: string;
 }
+
+export interface NotificationPage {
+  items: NotificationModel[];
+  nextCursor?: string | null; // null quand il n'y a plus de page
+}
@@ -1,4 +1,5 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
+import { Subscription } from 'rxjs';
 import { CommonModule } from '@angular/common';
 import { NotificationsService } from '../notifications.service';
 import { NotificationModel } from '../notification.model';
@@ -13,7 +14,7 @@ import { RegistrationsService } from '../../registrations/registrations.service'
   templateUrl: './notifications-list.component.html',
   styleUrls: ['./notifications-list.component.css']
 })
-export class NotificationsListComponent implements OnInit {
+export class NotificationsListComponent implements OnInit, OnDestroy {
 
   notifications: NotificationModel[] = [];
   loading: boolean = false;
@@ -21,6 +22,11 @@ export class NotificationsListComponent implements OnInit {
   showPopup = false;
   popupNotification?: NotificationModel;
   isOrganisateur = false;
+  nextCursor?: string | null;
+  loadingMore = false;
+  // total côté serveur : inclut les non lues des pages pas encore chargées
+  unreadCount = 0;
+  private streamSubscription?: Subscription;
 
   constructor(
     private notificationsService: NotificationsService,
@@ -32,6 +38,29 @@ export class NotificationsListComponent implements OnInit {
     const user = this.authService.getUser();
     this.isOrganisateur = user?.role === 'ORGANISATEUR';
     this.loadNotifications();
+    this.loadUnreadCount();
+    this.listenForNewNotifications();
+  }
+
+  ngOnDestroy(): void {
+    this.streamSubscription?.unsubscribe();
+  }
+
+  // les nouvelles notifications arrivent par le flux SSE, sans recharger toute la liste
+  private listenForNewNotifications(): void {
+    if (!this.authService.getUser()) return;
+
+    this.streamSubscription = this.notificationsService.streamMyNotifications().subscribe(notif => {
+      if (this.notifications.some(n => n.id === notif.id)) return;
+      if (!notif.lue) {
+        this.unreadCount++;
+      }
+      this.notifications = [
+        this.prepare(notif),
+        ...this.notifications
+      ];
+      this.preparePopup();
+    });
   }
 
   loadNotifications(): void {
@@ -45,12 +74,9 @@ export class NotificationsListComponent implements OnInit {
     this.error = undefined;
 
     this.notificationsService.getMyNotifications().subscribe({
-      next: (data) => {
-        this.notifications = data.map((notif) => ({
-          ...notif,
-          originalMessage: notif.message,
-          decision: this.inferDecision(notif)
-        }));
+      next: (page) => {
+        this.notifications = page.items.map((notif) => this.prepare(notif));
+        this.nextCursor = page.nextCursor;
         this.loading = false;
         this.preparePopup();
       },
@@ -61,6 +87,62 @@ export class NotificationsListComponent implements OnInit {
     });
   }
 
+  loadUnreadCount(): void {
+    this.notificationsService.getUnreadCount().subscribe({
+      next: (count) => this.unreadCount = count.nonLues,
+      error: () => this.unreadCount = this.notifications.filter(n => !n.lue).length
+    });
+  }
+
+  // page suivante (pagination par curseur côté serveur)
+  loadMore(): void {
+    if (!this.nextCursor || this.loadingMore) return;
+
+    this.loadingMore = true;
+    this.notificationsService.getMyNotifications(this.nextCursor).subscribe({
+      next: (page) => {
+        const known = new Set(this.notifications.map(n => n.id));
+        this.notifications = [
+          ...this.notifications,
+          ...page.items.filter(n => !known.has(n.id)).map((notif) => this.prepare(notif))
+        ];
+        this.nextCursor = page.nextCursor;
+        this.loadingMore = false;
+      },
+      error: () => {
+        this.error = 'Erreur lors du chargement des notifications.';
+        this.loadingMore = false;
+      }
+    });
+  }
+
+  markAllAsRead(): void {
+    this.notificationsService.markAllAsRead().subscribe({
+      next: () => {
+        this.notifications.forEach(n => n.lue = true);
+        this.unreadCount = 0;
+        if (this.popupNotification) {
+          this.popupNotification.lue = true;
+        }
+      },
+      error: () => {
+        this.error = 'Erreur lors de la mise à jour des notifications.';
+      }
+    });
+  }
+
+  hasUnread(): boolean {
+    return this.unreadCount > 0 || this.notifications.some(n => !n.lue);
+  }
+
+  private prepare(notif: NotificationModel): NotificationModel {
+    return {
+      ...notif,
+      originalMessage: notif.message,
+      decision: this.inferDecision(notif)
+    };
+  }
+
   private preparePopup(): void {
     if (this.notifications.length === 0) {
       this.popupNotification = undefined;
@@ -91,6 +173,9 @@ export class NotificationsListComponent implements OnInit {
 
     this.notificationsService.markAsRead(notif.id).subscribe({
       next: (updated) => {
+        if (!notif.lue && updated.lue) {
+          this.unreadCount = Math.max(0, this.unreadCount - 1);
+        }
         notif.lue = updated.lue;
         if (this.popupNotification && this.popupNotification.id === notif.id) {
           this.popupNotification.lue = true;
@@ -155,6 +240,9 @@ export class NotificationsListComponent implements OnInit {
 
     this.notificationsService.delete(notif.id).subscribe({
       next: () => {
+        if (!notif.lue) {
+          this.unreadCount = Math.max(0, this.unreadCount - 1);
+        }
         this.notifications = this.notifications.filter(n => n.id !== notif.id);
       },
       error: () => {
@@ -1,7 +1,7 @@
-import { Injectable } from '@angular/core';
+import { Injectable, NgZone } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable, throwError } from 'rxjs';
-import { NotificationModel } from './notification.model';
+import { NotificationModel, NotificationPage } from './notification.model';
 import { AuthService } from '../auth/auth.service';
 
 @Injectable({
@@ -14,22 +14,58 @@ export class NotificationsService {
 
   constructor(
     private http: HttpClient,
-    private authService: AuthService
+    private authService: AuthService,
+    private zone: NgZone
   ) {}
 
-  /** Récupérer les notifications du user connecté */
-  getMyNotifications(): Observable<NotificationModel[]> {
+  /** Récupérer une page de notifications du user connecté (la suivante via nextCursor) */
+  getMyNotifications(cursor?: string | null, size: number = 50): Observable<NotificationPage> {
     const user = this.authService.getUser();
 
     if (!user) {
       return throwError(() => new Error("Utilisateur non connecté."));
     }
 
-    return this.http.get<NotificationModel[]>(
-      `${this.baseUrl}/participant/${user.id}`
+    const params: { [key: string]: string } = { size: String(size) };
+    if (cursor) {
+      params['cursor'] = cursor;
+    }
+    return this.http.get<NotificationPage>(
+      `${this.baseUrl}/participant/${user.id}/page`,
+      { params }
+    );
+  }
+
+  /** Nombre de notifications non lues du user connecté */
+  getUnreadCount(): Observable<{ participantId: number; nonLues: number }> {
+    const user = this.authService.getUser();
+
+    if (!user) {
+      return throwError(() => new Error("Utilisateur non connecté."));
+    }
+
+    return this.http.get<{ participantId: number; nonLues: number }>(
+      `${this.baseUrl}/participant/${user.id}/non-lues`
     );
   }
 
+  /** Nouvelles notifications du user connecté, poussées par le serveur (SSE, reconnexion automatique) */
+  streamMyNotifications(): Observable<NotificationModel> {
+    const user = this.authService.getUser();
+
+    if (!user) {
+      return throwError(() => new Error("Utilisateur non connecté."));
+    }
+
+    return new Observable<NotificationModel>(subscriber => {
+      const source = new EventSource(`${this.baseUrl}/participant/${user.id}/stream`);
+      source.addEventListener('notification', (event) => {
+        this.zone.run(() => subscriber.next(JSON.parse((event as MessageEvent).data)));
+      });
+      return () => source.close();
+    });
+  }
+
   /** Marquer une notification comme lue */
   markAsRead(id: number): Observable<NotificationModel> {
     return this.http.patch<NotificationModel>(
@@ -37,6 +73,19 @@ export class NotificationsService {
     );
   }
 
+  /** Marquer toutes les notifications du user connecté comme lues (une seule requête) */
+  markAllAsRead(): Observable<{ affected: number }> {
+    const user = this.authService.getUser();
+
+    if (!user) {
+      return throwError(() => new Error("Utilisateur non connecté."));
+    }
+
+    return this.http.patch<{ affected: number }>(
+      `${this.baseUrl}/participant/${user.id}/lue`, {}
+    );
+  }
+
   /** Supprimer une notification */
   delete(id: number): Observable<void> {
     return this.http.delete<void>(`${this.baseUrl}/${id}`);
@@ -4,4 +4,18 @@ export interface Registration {
   participantId: number;
   dateInscription?: string;
   statut?: string; // INSCRIT, ANNULE, EN_ATTENTE
-}
\ No newline at end of file
+}
+
+export interface BulkStatusResponse {
+  eventId: number;
+  statut: string;
+  updated: number;
+  notFound: number;
+  results: { participantId: number; outcome: string }[]; // MIS_A_JOUR, NON_INSCRIT
+}
+
+export interface RegistrationStats {
+  eventId: number;
+  total: number;
+  parStatut: { [statut: string]: number };
+}
@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { Registration } from './registration.model';
+import { BulkStatusResponse, Registration, RegistrationStats } from './registration.model';
 
 @Injectable({
   providedIn: 'root'
@@ -33,6 +33,13 @@ export class RegistrationsService {
     return this.http.get<Registration[]>(`${this.baseUrl}/event/${eventId}`);
   }
 
+  // Nombre d'inscriptions par statut pour plusieurs événements (sans charger les inscriptions)
+  getStats(eventIds: number[]): Observable<RegistrationStats[]> {
+    return this.http.get<RegistrationStats[]>(`${this.baseUrl}/stats`, {
+      params: { eventIds: eventIds.join(',') }
+    });
+  }
+
   // (plus tard) : récupérer les inscriptions d'un participant
   getRegistrationsByParticipant(participantId: number): Observable<Registration[]> {
     return this.http.get<Registration[]>(`${this.baseUrl}/participant/${participantId}`);
@@ -45,4 +52,12 @@ export class RegistrationsService {
       { params: { statut } }
     );
   }
+
+  // Changer le statut de plusieurs participants en une seule requête
+  updateStatusBulk(eventId: number, participantIds: number[], statut: string): Observable<BulkStatusResponse> {
+    return this.http.patch<BulkStatusResponse>(
+      `${this.baseUrl}/event/${eventId}/statut`,
+      { participantIds, statut }
+    );
+  }
 }
@@ -0,0 +1,56 @@
+package com.projet.eventsservice;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+
+// La contrainte d'unicité (event_id, participant_id) de Registration est ajoutée par ddl-auto=update,
+// qui abandonne sans erreur si la table contient déjà des doublons. Au démarrage, après la mise à jour
+// du schéma : les doublons sont supprimés (on garde la première inscription) puis la contrainte est créée
+// si elle manque. L'inscription concurrente d'un même participant repose sur elle.
+@Component
+@DependsOn("entityManagerFactory")
+public class RegistrationConstraintInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationConstraintInitializer.class);
+
+    static final String CONSTRAINT_NAME = "UK_REGISTRATIONS_EVENT_PARTICIPANT";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public RegistrationConstraintInitializer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void ensureUniqueRegistrations() {
+        if (constraintExists()) {
+            return;
+        }
+        Integer removed = transactionTemplate.execute(status -> jdbcTemplate.update(
+                "delete from registrations r where exists (select 1 from registrations o "
+                        + "where o.event_id = r.event_id and o.participant_id = r.participant_id and o.id < r.id)"));
+        if (removed != null && removed > 0) {
+            log.warn("{} inscriptions en double supprimées avant la création de {}", removed, CONSTRAINT_NAME);
+        }
+        jdbcTemplate.execute("alter table registrations add constraint " + CONSTRAINT_NAME
+                + " unique (event_id, participant_id)");
+        log.info("Contrainte {} créée", CONSTRAINT_NAME);
+    }
+
+    boolean constraintExists() {
+        Integer count = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.table_constraints "
+                        + "where table_name = 'REGISTRATIONS' and constraint_name = ?",
+                Integer.class, CONSTRAINT_NAME);
+        return count != null && count > 0;
+    }
+}
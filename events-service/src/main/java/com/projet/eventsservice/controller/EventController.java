@@ -1,7 +1,23 @@
 package com.projet.eventsservice.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,23 +29,47 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.projet.eventsservice.dto.EventPage;
+import com.projet.eventsservice.dto.FanoutProgress;
 import com.projet.eventsservice.model.Event;
 import com.projet.eventsservice.repository.EventRepository;
-import com.projet.eventsservice.service.NotificationClient;
-import com.projet.eventsservice.dto.UserInfo;
+import com.projet.eventsservice.repository.EventSpecifications;
+import com.projet.eventsservice.service.EventCache;
+import com.projet.eventsservice.service.EventExportService;
+import com.projet.eventsservice.service.EventSearchIndex;
+import com.projet.eventsservice.service.NewEventNotifier;
+import com.projet.eventsservice.service.SeatCounters;
+
+import io.micrometer.core.annotation.Timed;
 
 @RestController
 @RequestMapping("/api/events")
 @CrossOrigin(origins = "*")
+@Timed(value = "controller.requests", histogram = true)
 public class EventController {
 
-    private final EventRepository eventRepository;
-    private final NotificationClient notificationClient;
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
 
-    public EventController(EventRepository eventRepository, NotificationClient notificationClient) {
+    private final EventRepository eventRepository;
+    private final NewEventNotifier newEventNotifier;
+    private final EventSearchIndex searchIndex;
+    private final EventExportService eventExportService;
+    private final EventCache eventCache;
+    private final SeatCounters seatCounters;
+    private final TransactionTemplate transactionTemplate;
+
+    public EventController(EventRepository eventRepository, NewEventNotifier newEventNotifier,
+            EventSearchIndex searchIndex, EventExportService eventExportService, EventCache eventCache,
+            SeatCounters seatCounters, PlatformTransactionManager transactionManager) {
         this.eventRepository = eventRepository;
-        this.notificationClient = notificationClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventCache = eventCache;
+        this.seatCounters = seatCounters;
+        this.newEventNotifier = newEventNotifier;
+        this.searchIndex = searchIndex;
+        this.eventExportService = eventExportService;
     }
 
     // GET /api/events
@@ -38,39 +78,86 @@ public class EventController {
         return eventRepository.findAll();
     }
 
-    // GET /api/events/{id}
+    // GET /api/events/cursor?after=123&size=50 : pagination par curseur sur l'id
+    @GetMapping("/cursor")
+    public EventPage getPage(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        int limit = Math.max(1, Math.min(size, 500));
+        List<Event> items = eventRepository.findByIdGreaterThanOrderByIdAsc(after != null ? after : 0L, Limit.of(limit));
+        Long nextCursor = items.size() == limit ? items.get(items.size() - 1).getId() : null;
+        return new EventPage(items, nextCursor);
+    }
+
+    // GET /api/events/stream : tous les événements en NDJSON, écrits au fil de la lecture
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(eventExportService::writeNdjson);
+    }
+
+    // GET /api/events/{id} : servi depuis le cache ; If-None-Match sur la version renvoie 304
     @GetMapping("/{id}")
     public ResponseEntity<Event> getById(@PathVariable Long id) {
-        return eventRepository.findById(id)
-                .map(ResponseEntity::ok)
+        return eventCache.findById(id)
+                .map(event -> ResponseEntity.ok().eTag(etag(event)).body(event))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     // POST /api/events
     @PostMapping
     public Event create(@RequestBody Event event) {
-        Event saved = eventRepository.save(event);
-        notifyParticipantsOfNewEvent(saved);
+        // la diffusion aux participants est enregistrée avec l'événement ; OutboxDispatcher s'en charge ensuite
+        Event saved = transactionTemplate.execute(status -> {
+            Event created = eventRepository.save(event);
+            newEventNotifier.enqueue(created);
+            return created;
+        });
+        searchIndex.index(saved);
         return saved;
     }
 
+    // GET /api/events/{id}/notifications/progress : avancement de l'envoi aux participants
+    @GetMapping("/{id}/notifications/progress")
+    public ResponseEntity<FanoutProgress> notificationProgress(@PathVariable Long id) {
+        return newEventNotifier.progress(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     // PUT /api/events/{id}
     @PutMapping("/{id}")
     public ResponseEntity<Event> update(@PathVariable Long id, @RequestBody Event event) {
-        return eventRepository.findById(id)
-                .map(existing -> {
-                    existing.setTitre(event.getTitre());
-                    existing.setDescription(event.getDescription());
-                    existing.setLieu(event.getLieu());
-                    existing.setDateDebut(event.getDateDebut());
-                    existing.setDateFin(event.getDateFin());
-                    existing.setType(event.getType());
-                    existing.setImageUrl(event.getImageUrl());
-                    existing.setProgrammeUrl(event.getProgrammeUrl());
-                    existing.setOrganisateurId(event.getOrganisateurId());
-                    return ResponseEntity.ok(eventRepository.save(existing));
-                })
-                .orElse(ResponseEntity.notFound().build());
+        // une inscription entre la lecture et l'enregistrement change la version : on relit et on recommence
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return eventRepository.findById(id)
+                        .map(existing -> {
+                            existing.setTitre(event.getTitre());
+                            existing.setDescription(event.getDescription());
+                            existing.setLieu(event.getLieu());
+                            existing.setDateDebut(event.getDateDebut());
+                            existing.setDateFin(event.getDateFin());
+                            existing.setType(event.getType());
+                            existing.setImageUrl(event.getImageUrl());
+                            existing.setProgrammeUrl(event.getProgrammeUrl());
+                            existing.setOrganisateurId(event.getOrganisateurId());
+                            existing.setCapacite(event.getCapacite());
+                            Event saved = eventRepository.save(existing);
+                            eventCache.evict(id);
+                            seatCounters.evict(id);
+                            searchIndex.index(saved);
+                            return ResponseEntity.ok().eTag(etag(saved)).body(saved);
+                        })
+                        .orElse(ResponseEntity.notFound().build());
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= MAX_UPDATE_ATTEMPTS) {
+                    return ResponseEntity.status(HttpStatus.CONFLICT).build();
+                }
+            }
+        }
     }
 
     // DELETE /api/events/{id}
@@ -80,87 +167,70 @@ public class EventController {
             return ResponseEntity.notFound().build();
         }
         eventRepository.deleteById(id);
+        eventCache.evict(id);
+        seatCounters.evict(id);
+        searchIndex.remove(id);
         return ResponseEntity.noContent().build();
     }
 
-    // GET /api/events/search?keyword=...&lieu=...&type=...&dateDebut=...&dateFin=...
+    // GET /api/events/search?keyword=...&lieu=...&type=...&dateDebut=...&dateFin=...&sort=dateDebut,asc
     @GetMapping("/search")
     public List<Event> search(
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) String lieu,
             @RequestParam(required = false) String type,
             @RequestParam(required = false) String dateDebut,
-            @RequestParam(required = false) String dateFin
+            @RequestParam(required = false) String dateFin,
+            Sort sort
     ) {
-        List<Event> events = eventRepository.findAll();
-
-        return events.stream()
-                .filter(e -> {
-                    if (keyword != null && !keyword.isBlank()) {
-                        String k = keyword.toLowerCase();
-                        if (e.getTitre() == null || !e.getTitre().toLowerCase().contains(k)) {
-                            return false;
-                        }
-                    }
-                    if (lieu != null && !lieu.isBlank()) {
-                        String l = lieu.toLowerCase();
-                        if (e.getLieu() == null || !e.getLieu().toLowerCase().contains(l)) {
-                            return false;
-                        }
-                    }
-                    if (type != null && !type.isBlank()) {
-                        String t = type.toLowerCase();
-                        if (e.getType() == null || !e.getType().toLowerCase().contains(t)) {
-                            return false;
-                        }
-                    }
-                    // dates reçues sous forme de string ISO (ex: "2025-11-18T18:00")
-                    if (dateDebut != null && !dateDebut.isBlank()) {
-                        var start = java.time.LocalDateTime.parse(dateDebut);
-                        if (e.getDateDebut() == null || e.getDateDebut().isBefore(start)) {
-                            return false;
-                        }
-                    }
-                    if (dateFin != null && !dateFin.isBlank()) {
-                        var end = java.time.LocalDateTime.parse(dateFin);
-                        if (e.getDateFin() == null || e.getDateFin().isAfter(end)) {
-                            return false;
-                        }
-                    }
-                    return true;
-                })
-                .toList();
+        return eventRepository.findAll(searchSpecification(keyword, lieu, type, dateDebut, dateFin), sort);
     }
 
-    private void notifyParticipantsOfNewEvent(Event event) {
-        List<UserInfo> participants = notificationClient.fetchParticipants();
-        if (participants.isEmpty()) {
-            return;
-        }
+    // GET /api/events/search/page?...&page=0&size=20&sort=dateDebut,asc
+    @GetMapping("/search/page")
+    public Page<Event> searchPage(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String lieu,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String dateDebut,
+            @RequestParam(required = false) String dateFin,
+            @PageableDefault(size = 20, sort = "dateDebut") Pageable pageable
+    ) {
+        return eventRepository.findAll(searchSpecification(keyword, lieu, type, dateDebut, dateFin), pageable);
+    }
 
-        String eventTitle = event.getTitre() != null ? event.getTitre() : "un nouvel événement";
-        String organiserName = null;
-        if (event.getOrganisateurId() != null) {
-            UserInfo organiser = notificationClient.fetchUser(event.getOrganisateurId());
-            if (organiser != null && organiser.getFullName() != null) {
-                organiserName = organiser.getFullName();
-            }
+    // GET /api/events/search/text?q=...&limit=20 : recherche plein texte classée par pertinence
+    @GetMapping("/search/text")
+    public List<Event> searchText(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        List<Long> ids = searchIndex.search(q, Math.min(limit, 100));
+        if (ids.isEmpty()) {
+            return List.of();
         }
+        Map<Long, Event> byId = eventRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
 
-        String intro = organiserName != null
-                ? "Nouvel événement publié par " + organiserName + " : "
-                : "Nouvel événement publié : ";
+    // le filtrage est fait par la base : les dates ISO (ex: "2025-11-18T18:00") ne sont parsées qu'une fois
+    private Specification<Event> searchSpecification(String keyword, String lieu, String type,
+            String dateDebut, String dateFin) {
+        LocalDateTime start = dateDebut != null && !dateDebut.isBlank() ? LocalDateTime.parse(dateDebut) : null;
+        LocalDateTime end = dateFin != null && !dateFin.isBlank() ? LocalDateTime.parse(dateFin) : null;
+
+        return Specification.where(EventSpecifications.titreContient(keyword))
+                .and(EventSpecifications.lieuContient(lieu))
+                .and(EventSpecifications.typeContient(type))
+                .and(EventSpecifications.commenceApres(start))
+                .and(EventSpecifications.termineAvant(end));
+    }
 
-        for (UserInfo participant : participants) {
-            if (participant.getId() == null) {
-                continue;
-            }
-            notificationClient.sendNotification(
-                    participant.getId(),
-                    event.getId(),
-                    "NOUVEL_EVENEMENT",
-                    intro + eventTitle + "."
-            );
-        }
+    private static String etag(Event event) {
+        return "\"" + event.getId() + "-" + (event.getVersion() != null ? event.getVersion() : 0) + "\"";
     }
 }
@@ -1,14 +1,23 @@
 package com.projet.eventsservice.controller;
 
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,15 +26,39 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.projet.eventsservice.service.FileStorage;
+import com.projet.eventsservice.service.ImageVariants;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 @RestController
 @RequestMapping("/api/files")
 @CrossOrigin(origins = "*")
 public class FileController {
 
-    @Value("${app.upload.dir:uploads}")
-    private String uploadDir;
+    // envoi direct du fichier par Tomcat (sendfile) : les octets ne passent pas par la JVM
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // contenu adressé par son empreinte : le navigateur peut le garder un an sans redemander
+    private static final String IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+            .getHeaderValue();
+    // le reste est revalidé à chaque usage (réponse 304 sans corps si rien n'a changé)
+    private static final String REVALIDATE = CacheControl.noCache().cachePublic().getHeaderValue();
+
+    private final FileStorage fileStorage;
+    private final ImageVariants imageVariants;
+
+    public FileController(FileStorage fileStorage, ImageVariants imageVariants) {
+        this.fileStorage = fileStorage;
+        this.imageVariants = imageVariants;
+    }
 
     // POST /api/files/upload
     @PostMapping("/upload")
@@ -35,20 +68,13 @@ public class FileController {
                 return ResponseEntity.badRequest().body("Fichier vide");
             }
 
-            // s'assurer que le répertoire existe
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
-            // nom fichier simple : timestamp_nomoriginal
-            String fileName = System.currentTimeMillis() + "_" + file.getOriginalFilename();
-            Path filePath = uploadPath.resolve(fileName);
-
-            Files.copy(file.getInputStream(), filePath);
+            // nom dérivé du contenu : un fichier déjà reçu n'est pas stocké une deuxième fois
+            String fileName = fileStorage.store(file.getInputStream(), file.getOriginalFilename());
+            // miniatures préparées en arrière-plan, la réponse n'attend pas
+            imageVariants.generateAll(fileName);
 
             // URL d'accès au fichier
-            String fileUrl = "/api/files/" + fileName;
+            String fileUrl = FileStorage.URL_PREFIX + fileName;
             return ResponseEntity.ok(fileUrl);
 
         } catch (IOException e) {
@@ -57,25 +83,123 @@ public class FileController {
         }
     }
 
-    // GET /api/files/{filename}
+    // GET /api/files/{filename} : envoyé depuis le disque sans être chargé en mémoire,
+    // avec prise en charge de "Range: bytes=debut-fin" (reprise de téléchargement, lecture PDF).
+    // ?size=thumb|preview : version réduite d'une image, l'original tant qu'elle n'est pas prête
     @GetMapping("/{filename}")
-    public ResponseEntity<byte[]> getFile(@PathVariable String filename) {
-        try {
-            Path filePath = Paths.get(uploadDir).resolve(filename);
-            if (!Files.exists(filePath)) {
-                return ResponseEntity.notFound().build();
+    public void getFile(@PathVariable String filename, @RequestParam(required = false) String size,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (size != null && !imageVariants.isSupportedSize(size)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+        Path filePath = fileStorage.resolve(filename);
+        if (filePath == null || !Files.isRegularFile(filePath)) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        Optional<Path> variant = size != null ? imageVariants.find(filename, size) : Optional.empty();
+        if (variant.isPresent()) {
+            filePath = variant.get();
+        }
+
+        long length = Files.size(filePath);
+        long lastModified = Files.getLastModifiedTime(filePath).toMillis();
+        // original servi à la place d'une variante pas encore prête : ne doit pas rester en cache
+        boolean immutable = fileStorage.isContentAddressed(filename) && (size == null || variant.isPresent());
+        String etag = immutable
+                ? "\"" + filename.substring(0, 64) + (size != null ? "-" + imageVariants.width(size) + "w" : "") + "\""
+                : "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, immutable ? IMMUTABLE : REVALIDATE);
+        // If-None-Match / If-Modified-Since : 304 ; pose aussi ETag et Last-Modified sur la réponse
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+        response.setContentType(contentType(filePath).toString());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        long start = 0;
+        long end = length - 1;
+        List<HttpRange> ranges = ifRangeMatches(request, etag, lastModified)
+                ? parseRanges(request.getHeader(HttpHeaders.RANGE))
+                : List.of();
+        // plusieurs plages : on renvoie le fichier entier (autorisé par la RFC 9110)
+        if (ranges.size() == 1) {
+            HttpRange range = ranges.get(0);
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+            // plage qui commence après la fin du fichier
+            if (start >= length || start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
             }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
 
-            byte[] data = Files.readAllBytes(filePath);
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (count <= 0 || HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
 
-            // on laisse simple : content-type générique binaire
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, filePath.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
 
-            return new ResponseEntity<>(data, headers, HttpStatus.OK);
+        // sinon : copie canal à canal (FileChannel.transferTo), sans tableau de la taille du fichier
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                position += channel.transferTo(position, end + 1 - position, out);
+            }
+        }
+    }
 
-        } catch (IOException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    // d'après l'extension, puis le contenu (probeContentType) ; binaire générique en dernier recours
+    private static MediaType contentType(Path filePath) {
+        return MediaTypeFactory.getMediaType(filePath.getFileName().toString())
+                .orElseGet(() -> {
+                    try {
+                        String probed = Files.probeContentType(filePath);
+                        return probed != null ? MediaType.parseMediaType(probed) : MediaType.APPLICATION_OCTET_STREAM;
+                    } catch (IOException | IllegalArgumentException e) {
+                        return MediaType.APPLICATION_OCTET_STREAM;
+                    }
+                });
+    }
+
+    // If-Range : la plage n'est servie que si la copie du client est encore la bonne, sinon fichier entier
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // en-tête Range absent ou invalide : réponse complète
+    private static List<HttpRange> parseRanges(String header) {
+        if (header == null || header.isBlank()) {
+            return List.of();
+        }
+        try {
+            return HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            return List.of();
         }
     }
 }
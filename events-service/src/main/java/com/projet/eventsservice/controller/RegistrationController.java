@@ -1,9 +1,24 @@
 package com.projet.eventsservice.controller;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,68 +30,81 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.projet.eventsservice.dto.BulkStatusRequest;
+import com.projet.eventsservice.dto.BulkStatusResponse;
+import com.projet.eventsservice.dto.RegistrationStats;
+import com.projet.eventsservice.dto.RegistrationSummary;
+import com.projet.eventsservice.dto.StatutCount;
 import com.projet.eventsservice.dto.UserInfo;
 import com.projet.eventsservice.model.Event;
 import com.projet.eventsservice.model.Registration;
 import com.projet.eventsservice.repository.EventRepository;
 import com.projet.eventsservice.repository.RegistrationRepository;
+import com.projet.eventsservice.service.EventCache;
 import com.projet.eventsservice.service.NotificationClient;
+import com.projet.eventsservice.service.NotificationOutbox;
+import com.projet.eventsservice.service.RegistrationMessages;
+import com.projet.eventsservice.service.SeatCounters;
+
+import io.micrometer.core.annotation.Timed;
 
 @RestController
 @RequestMapping("/api/registrations")
 @CrossOrigin(origins = "*")
+@Timed(value = "controller.requests", histogram = true)
 public class RegistrationController {
 
+    // taille maximale d'un changement de statut groupé (une seule clause IN)
+    static final int MAX_BULK_SIZE = 1000;
+
+    // participants effectivement mis à jour et places libérées (voir applyStatut)
+    private record StatusChange(Set<Long> participantIds, int freedSeats) {
+    }
+
     private final RegistrationRepository registrationRepository;
     private final EventRepository eventRepository;
+    private final EventCache eventCache;
+    private final SeatCounters seatCounters;
     private final NotificationClient notificationClient;
+    private final NotificationOutbox notificationOutbox;
+    private final TransactionTemplate transactionTemplate;
 
     public RegistrationController(RegistrationRepository registrationRepository, EventRepository eventRepository,
-            NotificationClient notificationClient) {
+            EventCache eventCache, SeatCounters seatCounters, NotificationClient notificationClient,
+            NotificationOutbox notificationOutbox, PlatformTransactionManager transactionManager) {
         this.registrationRepository = registrationRepository;
         this.eventRepository = eventRepository;
+        this.eventCache = eventCache;
+        this.seatCounters = seatCounters;
         this.notificationClient = notificationClient;
+        this.notificationOutbox = notificationOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    private String resolveEventTitle(Long eventId, Event event) {
-        return event != null && event.getTitre() != null
-                ? event.getTitre()
-                : "l’événement " + eventId;
-    }
-
-    private String buildOrganizerRegistrationMessage(Registration registration, Event event) {
-        String eventTitle = resolveEventTitle(registration.getEventId(), event);
+    private String buildOrganizerRegistrationMessage(Registration registration, String eventTitle) {
         UserInfo participant = notificationClient.fetchUser(registration.getParticipantId());
-
-        if (participant != null) {
-            String name = participant.getFullName() != null ? participant.getFullName() : "Participant " + participant.getId();
-            String email = participant.getEmail() != null ? participant.getEmail() : "email inconnu";
-            return name + " (" + email + ") s’est inscrit à " + eventTitle + " (id " + registration.getParticipantId() + ").";
-        }
-
-        return "Le participant (id " + registration.getParticipantId() + ") s’est inscrit à " + eventTitle + ".";
+        return RegistrationMessages.organizerRegistration(registration.getParticipantId(), participant, eventTitle);
     }
 
-    private String buildOrganizerUnregisterMessage(Registration registration, Event event) {
-        String eventTitle = resolveEventTitle(registration.getEventId(), event);
+    private String buildOrganizerUnregisterMessage(Registration registration, String eventTitle) {
         UserInfo participant = notificationClient.fetchUser(registration.getParticipantId());
-
-        if (participant != null) {
-            String name = participant.getFullName() != null ? participant.getFullName() : "Participant " + participant.getId();
-            String email = participant.getEmail() != null ? participant.getEmail() : "email inconnu";
-            return name + " (" + email + ") s’est désinscrit de " + eventTitle + " (id " + registration.getParticipantId() + ").";
-        }
-
-        return "Le participant (id " + registration.getParticipantId() + ") s’est désinscrit de " + eventTitle + ".";
+        return RegistrationMessages.organizerUnregistration(registration.getParticipantId(), participant, eventTitle);
     }
 
     // S'inscrire à un événement
     @PostMapping
     public ResponseEntity<Registration> register(@RequestBody Registration registration) {
 
+        Event event = eventCache.findById(registration.getEventId()).orElse(null);
+        // événement complet : refus immédiat, sans requête SQL
+        if (!seatCounters.tryAcquire(event)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
         var existing = registrationRepository
                 .findByEventIdAndParticipantId(registration.getEventId(), registration.getParticipantId());
         if (existing.isPresent()) {
+            seatCounters.released(registration.getEventId());
             return ResponseEntity.badRequest().build();
         }
 
@@ -84,32 +112,62 @@ public class RegistrationController {
         if (registration.getStatut() == null || registration.getStatut().isBlank()) {
             registration.setStatut("INSCRIT");
         }
-        Registration saved = registrationRepository.save(registration);
-
-        Event event = eventRepository.findById(saved.getEventId()).orElse(null);
-        String eventTitle = resolveEventTitle(saved.getEventId(), event);
-
-        // envoyer une notification au microservice notifications
-        notificationClient.sendNotification(
-                saved.getParticipantId(),
-                saved.getEventId(),
-                "CONFIRMATION_INSCRIPTION",
-                "Votre inscription à " + eventTitle + " est confirmée."
-        );
-
-        // notifier l’organisateur si présent
-        if (event != null && event.getOrganisateurId() != null) {
-            notificationClient.sendNotification(
-                    event.getOrganisateurId(),
-                    saved.getEventId(),
-                    "NOUVELLE_INSCRIPTION",
-                    buildOrganizerRegistrationMessage(saved, event)
-            );
+
+        String eventTitle = RegistrationMessages.eventTitle(registration.getEventId(), event);
+        // message préparé hors transaction (appel à auth-service)
+        String organizerMessage = event != null && event.getOrganisateurId() != null
+                ? buildOrganizerRegistrationMessage(registration, eventTitle)
+                : null;
+
+        Registration saved;
+        try {
+            saved = seatCounters.commit(registration.getEventId(),
+                    () -> saveRegistration(registration, event, eventTitle, organizerMessage));
+        } catch (DataIntegrityViolationException e) {
+            // même participant inscrit au même moment par une autre requête : refusé par la contrainte d'unicité
+            return ResponseEntity.badRequest().build();
         }
+        if (saved == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        // nombre d'inscrits et version ont changé en base
+        eventCache.evict(registration.getEventId());
 
         return ResponseEntity.ok(saved);
     }
 
+    // null si l'événement est complet
+    private Registration saveRegistration(Registration registration, Event event, String eventTitle,
+            String organizerMessage) {
+        // inscription et notifications sont enregistrées ensemble ; l'envoi est fait par OutboxDispatcher
+        return transactionTemplate.execute(status -> {
+            // place prise par un UPDATE conditionnel, dans la même transaction que l'inscription
+            if (event != null && eventRepository.reserveSeat(event.getId()) == 0) {
+                status.setRollbackOnly();
+                return null;
+            }
+            Registration reg = registrationRepository.saveAndFlush(registration);
+
+            notificationOutbox.enqueue(
+                    reg.getParticipantId(),
+                    reg.getEventId(),
+                    "CONFIRMATION_INSCRIPTION",
+                    RegistrationMessages.confirmation(eventTitle)
+            );
+
+            // notifier l’organisateur si présent
+            if (organizerMessage != null) {
+                notificationOutbox.enqueue(
+                        event.getOrganisateurId(),
+                        reg.getEventId(),
+                        "NOUVELLE_INSCRIPTION",
+                        organizerMessage
+                );
+            }
+            return reg;
+        });
+    }
+
     // Se désinscrire : on supprime l'inscription
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> unregister(@PathVariable Long id) {
@@ -119,27 +177,41 @@ public class RegistrationController {
         }
 
         Registration reg = regOpt.get();
-        registrationRepository.deleteById(id);
-
-        Event event = eventRepository.findById(reg.getEventId()).orElse(null);
-        String eventTitle = resolveEventTitle(reg.getEventId(), event);
-
-        // envoyer une notification d'annulation au participant
-        notificationClient.sendNotification(
-                reg.getParticipantId(),
-                reg.getEventId(),
-                "ANNULATION_INSCRIPTION",
-                "Votre inscription à " + eventTitle + " a été annulée."
-        );
-
-        // notifier l’organisateur si présent
-        if (event != null && event.getOrganisateurId() != null) {
-            notificationClient.sendNotification(
-                    event.getOrganisateurId(),
+        Event event = eventCache.findById(reg.getEventId()).orElse(null);
+        String eventTitle = RegistrationMessages.eventTitle(reg.getEventId(), event);
+        String organizerMessage = event != null && event.getOrganisateurId() != null
+                ? buildOrganizerUnregisterMessage(reg, eventTitle)
+                : null;
+
+        boolean deleted = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            // déjà supprimée par une requête concurrente : rien à notifier, aucune place à rendre
+            if (registrationRepository.deleteRegistration(id) == 0) {
+                return false;
+            }
+            eventRepository.releaseSeat(reg.getEventId());
+
+            // notification d'annulation au participant
+            notificationOutbox.enqueue(
+                    reg.getParticipantId(),
                     reg.getEventId(),
-                    "DESINSCRIPTION",
-                    buildOrganizerUnregisterMessage(reg, event)
+                    "ANNULATION_INSCRIPTION",
+                    RegistrationMessages.cancellation(eventTitle)
             );
+
+            // notifier l’organisateur si présent
+            if (organizerMessage != null) {
+                notificationOutbox.enqueue(
+                        event.getOrganisateurId(),
+                        reg.getEventId(),
+                        "DESINSCRIPTION",
+                        organizerMessage
+                );
+            }
+            return true;
+        }));
+        if (deleted) {
+            seatCounters.seatFreed(reg.getEventId());
+            eventCache.evict(reg.getEventId());
         }
 
         return ResponseEntity.noContent().build();
@@ -151,12 +223,65 @@ public class RegistrationController {
         return registrationRepository.findByEventId(eventId);
     }
 
+    // Nombre d'inscriptions par statut pour un événement
+    @GetMapping("/event/{eventId}/stats")
+    public RegistrationStats getStatsByEvent(@PathVariable Long eventId) {
+        return computeStats(List.of(eventId)).get(eventId);
+    }
+
+    // Nombre d'inscriptions par statut pour plusieurs événements : GET /api/registrations/stats?eventIds=1,2,3
+    @GetMapping("/stats")
+    public ResponseEntity<List<RegistrationStats>> getStats(@RequestParam List<Long> eventIds) {
+        Set<Long> ids = new LinkedHashSet<>();
+        eventIds.stream().filter(Objects::nonNull).forEach(ids::add);
+        if (ids.size() > MAX_BULK_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(new ArrayList<>(computeStats(ids).values()));
+    }
+
+    // une seule requête GROUP BY ; les événements sans inscription sont renvoyés à 0
+    private Map<Long, RegistrationStats> computeStats(Collection<Long> eventIds) {
+        Map<Long, RegistrationStats> stats = new LinkedHashMap<>();
+        for (Long eventId : eventIds) {
+            RegistrationStats s = new RegistrationStats();
+            s.setEventId(eventId);
+            stats.put(eventId, s);
+        }
+        if (eventIds.isEmpty()) {
+            return stats;
+        }
+        for (StatutCount count : registrationRepository.countByStatut(eventIds)) {
+            RegistrationStats s = stats.get(count.eventId());
+            String statut = count.statut() != null ? count.statut() : "INCONNU";
+            s.getParStatut().merge(statut, count.total(), Long::sum);
+            s.setTotal(s.getTotal() + count.total());
+        }
+        return stats;
+    }
+
+    // GET /api/registrations/event/{eventId}/page?page=0&size=50&sort=id,asc
+    @GetMapping("/event/{eventId}/page")
+    public Page<RegistrationSummary> getPageByEvent(
+            @PathVariable Long eventId,
+            @PageableDefault(size = 50, sort = "id") Pageable pageable) {
+        return registrationRepository.findSummariesByEventId(eventId, pageable);
+    }
+
     // Liste des inscriptions d'un participant donné
     @GetMapping("/participant/{participantId}")
     public List<Registration> getByParticipant(@PathVariable Long participantId) {
         return registrationRepository.findByParticipantId(participantId);
     }
 
+    // GET /api/registrations/participant/{participantId}/page?page=0&size=50
+    @GetMapping("/participant/{participantId}/page")
+    public Page<RegistrationSummary> getPageByParticipant(
+            @PathVariable Long participantId,
+            @PageableDefault(size = 50, sort = "id") Pageable pageable) {
+        return registrationRepository.findSummariesByParticipantId(participantId, pageable);
+    }
+
     // Mettre à jour le statut d'une inscription (organisateur)
     @PatchMapping("/event/{eventId}/participant/{participantId}/statut")
     public ResponseEntity<Registration> updateStatus(
@@ -170,25 +295,146 @@ public class RegistrationController {
         }
 
         Registration reg = regOpt.get();
-        reg.setStatut(statut.toUpperCase());
-        reg = registrationRepository.save(reg);
+        String newStatut = statut.toUpperCase();
 
-        Event event = eventRepository.findById(eventId).orElse(null);
-        String eventTitle = resolveEventTitle(eventId, event);
+        Event event = eventCache.findById(eventId).orElse(null);
+        String eventTitle = RegistrationMessages.eventTitle(eventId, event);
 
         // notifier le participant de la décision
-        String decision = reg.getStatut().equalsIgnoreCase("REFUSEE") ? "REFUSEE" : "ACCEPTEE";
-        String msg = decision.equals("REFUSEE")
-                ? "Votre inscription à " + eventTitle + " a été refusée."
-                : "Votre inscription à " + eventTitle + " a été acceptée.";
-
-        notificationClient.sendNotification(
-                participantId,
-                eventId,
-                decision.equals("REFUSEE") ? "INSCRIPTION_REFUSEE" : "INSCRIPTION_ACCEPTEE",
-                msg
-        );
+        String decision = newStatut.equals("REFUSEE") ? "REFUSEE" : "ACCEPTEE";
+        String msg = RegistrationMessages.decision(eventTitle, decision.equals("REFUSEE"));
+
+        Integer freedSeats = transactionTemplate.execute(status -> {
+            Integer freed = applyStatut(eventId, event, List.of(participantId), newStatut);
+            if (freed == null) {
+                status.setRollbackOnly();
+                return null;
+            }
+            notificationOutbox.enqueue(
+                    participantId,
+                    eventId,
+                    decision.equals("REFUSEE") ? "INSCRIPTION_REFUSEE" : "INSCRIPTION_ACCEPTEE",
+                    msg
+            );
+            return freed;
+        });
+        // inscription refusée à accepter alors que l'événement est complet
+        if (freedSeats == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        seatsChanged(eventId, freedSeats);
 
+        reg.setStatut(newStatut);
         return ResponseEntity.ok(reg);
     }
+
+    // Applique le statut et tient à jour le nombre d'inscrits : une inscription refusée rend sa place,
+    // une inscription refusée puis acceptée en reprend une. À appeler dans une transaction.
+    // Renvoie le nombre de places libérées (négatif si des places ont été reprises), null si l'événement est complet.
+    private Integer applyStatut(Long eventId, Event event, Collection<Long> participantIds, String statut) {
+        if (statut.equals("REFUSEE")) {
+            int refused = registrationRepository.updateStatutsNotRefused(eventId, participantIds, statut);
+            if (refused > 0) {
+                eventRepository.releaseSeats(eventId, refused);
+            }
+            return refused;
+        }
+        int reinstated = registrationRepository.updateStatutsRefused(eventId, participantIds, statut);
+        if (reinstated > 0 && event != null && eventRepository.reserveSeats(eventId, reinstated) == 0) {
+            return null;
+        }
+        registrationRepository.updateStatutsNotRefused(eventId, participantIds, statut);
+        return -reinstated;
+    }
+
+    // compteurs en mémoire et événement en cache (inscrits, version) à recaler après applyStatut
+    private void seatsChanged(Long eventId, int freedSeats) {
+        if (freedSeats > 0) {
+            seatCounters.seatsFreed(eventId, freedSeats);
+        } else if (freedSeats < 0) {
+            seatCounters.evict(eventId);
+        }
+        if (freedSeats != 0) {
+            eventCache.evict(eventId);
+        }
+    }
+
+    // Mettre à jour le statut de plusieurs participants d'un événement (organisateur) :
+    // un seul UPDATE et un seul lot de notifications dans l'outbox
+    @PatchMapping("/event/{eventId}/statut")
+    public ResponseEntity<BulkStatusResponse> updateStatuses(
+            @PathVariable Long eventId,
+            @RequestBody BulkStatusRequest request) {
+
+        if (request.getStatut() == null || request.getStatut().isBlank() || request.getParticipantIds() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        // ordre de la requête conservé, doublons et null ignorés
+        Set<Long> participantIds = new LinkedHashSet<>();
+        request.getParticipantIds().stream().filter(Objects::nonNull).forEach(participantIds::add);
+        if (participantIds.isEmpty() || participantIds.size() > MAX_BULK_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String statut = request.getStatut().toUpperCase();
+        Event event = eventCache.findById(eventId).orElse(null);
+        String eventTitle = RegistrationMessages.eventTitle(eventId, event);
+
+        boolean refused = statut.equals("REFUSEE");
+        String type = refused ? "INSCRIPTION_REFUSEE" : "INSCRIPTION_ACCEPTEE";
+        String msg = RegistrationMessages.decision(eventTitle, refused);
+        Long organizerId = event != null ? event.getOrganisateurId() : null;
+        // noms pour le récapitulatif de l'organisateur : un seul appel à auth-service, hors transaction
+        Map<Long, UserInfo> participants = organizerId != null
+                ? notificationClient.fetchUsers(participantIds)
+                : Map.of();
+
+        StatusChange change = transactionTemplate.execute(status -> {
+            Set<Long> registered = new HashSet<>(registrationRepository.findParticipantIds(eventId, participantIds));
+            if (registered.isEmpty()) {
+                return new StatusChange(registered, 0);
+            }
+            Integer freed = applyStatut(eventId, event, registered, statut);
+            if (freed == null) {
+                status.setRollbackOnly();
+                return null;
+            }
+
+            List<NotificationOutbox.Pending> notifications = new ArrayList<>(registered.size() + 1);
+            List<Long> updatedIds = new ArrayList<>(registered.size());
+            for (Long participantId : participantIds) {
+                if (registered.contains(participantId)) {
+                    notifications.add(new NotificationOutbox.Pending(participantId, eventId, type, msg));
+                    updatedIds.add(participantId);
+                }
+            }
+            if (organizerId != null) {
+                notifications.add(new NotificationOutbox.Pending(organizerId, eventId, "STATUTS_MIS_A_JOUR",
+                        RegistrationMessages.organizerDecisions(eventTitle, refused, updatedIds, participants)));
+            }
+            notificationOutbox.enqueueAll(notifications);
+            return new StatusChange(registered, freed);
+        });
+        // trop d'inscriptions refusées à accepter pour les places restantes : rien n'est modifié
+        if (change == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        seatsChanged(eventId, change.freedSeats());
+        Set<Long> updated = change.participantIds();
+
+        List<BulkStatusResponse.Result> results = new ArrayList<>(participantIds.size());
+        for (Long participantId : participantIds) {
+            results.add(new BulkStatusResponse.Result(participantId, updated.contains(participantId)
+                    ? BulkStatusResponse.MIS_A_JOUR
+                    : BulkStatusResponse.NON_INSCRIT));
+        }
+
+        BulkStatusResponse response = new BulkStatusResponse();
+        response.setEventId(eventId);
+        response.setStatut(statut);
+        response.setUpdated(updated.size());
+        response.setNotFound(participantIds.size() - updated.size());
+        response.setResults(results);
+        return ResponseEntity.ok(response);
+    }
 }
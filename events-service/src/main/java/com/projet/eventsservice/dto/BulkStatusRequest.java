@@ -0,0 +1,12 @@
+package com.projet.eventsservice.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+// changement de statut groupé : PATCH /api/registrations/event/{eventId}/statut
+@Data
+public class BulkStatusRequest {
+    private List<Long> participantIds;
+    private String statut;
+}
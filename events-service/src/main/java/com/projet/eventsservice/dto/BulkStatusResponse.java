@@ -0,0 +1,22 @@
+package com.projet.eventsservice.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+// résultat d'un changement de statut groupé, participant par participant
+@Data
+public class BulkStatusResponse {
+
+    public static final String MIS_A_JOUR = "MIS_A_JOUR";
+    public static final String NON_INSCRIT = "NON_INSCRIT";
+
+    private Long eventId;
+    private String statut;
+    private int updated;
+    private int notFound;
+    private List<Result> results;
+
+    public record Result(Long participantId, String outcome) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.projet.eventsservice.dto;
+
+import java.util.List;
+
+import com.projet.eventsservice.model.Event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class EventPage {
+    private List<Event> items;
+    private Long nextCursor;   // null quand il n'y a plus de page
+}
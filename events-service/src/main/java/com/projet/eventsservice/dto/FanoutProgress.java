@@ -0,0 +1,18 @@
+package com.projet.eventsservice.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+// avancement de l'envoi des notifications "nouvel événement"
+@Data
+public class FanoutProgress {
+    private Long eventId;
+    private int total;             // participants à notifier lors de ce passage
+    private int queued;            // notifications écrites dans l'outbox (validées lot par lot)
+    private int failed;
+    private int delivered;         // notifications reçues par notifications-service (OutboxDispatcher)
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private double queuedPerSecond; // débit d'écriture dans l'outbox, pas de livraison
+}
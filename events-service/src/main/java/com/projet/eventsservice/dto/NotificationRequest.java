@@ -0,0 +1,5 @@
+package com.projet.eventsservice.dto;
+
+// corps envoyé au microservice notifications
+public record NotificationRequest(Long participantId, Long eventId, String type, String message) {
+}
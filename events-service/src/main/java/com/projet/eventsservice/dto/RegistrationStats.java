@@ -0,0 +1,14 @@
+package com.projet.eventsservice.dto;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import lombok.Data;
+
+// inscriptions d'un événement comptées par statut
+@Data
+public class RegistrationStats {
+    private Long eventId;
+    private long total;
+    private Map<String, Long> parStatut = new TreeMap<>();
+}
@@ -0,0 +1,8 @@
+package com.projet.eventsservice.dto;
+
+import java.time.LocalDateTime;
+
+// inscription en lecture seule, lue directement par la requête (pas d'entité gérée)
+public record RegistrationSummary(Long id, Long eventId, Long participantId, String statut,
+        LocalDateTime dateInscription) {
+}
@@ -0,0 +1,9 @@
+package com.projet.eventsservice.dto;
+
+// capacité (null = illimitée) et places prises d'un événement, lues en base
+public record SeatState(Integer capacite, Integer inscrits) {
+
+    public int remaining() {
+        return capacite - (inscrits != null ? inscrits : 0);
+    }
+}
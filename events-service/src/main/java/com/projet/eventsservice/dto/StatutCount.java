@@ -0,0 +1,5 @@
+package com.projet.eventsservice.dto;
+
+// nombre d'inscriptions d'un événement pour un statut (ligne du GROUP BY)
+public record StatutCount(Long eventId, String statut, long total) {
+}
@@ -2,11 +2,17 @@ package com.projet.eventsservice.model;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 @Entity
@@ -30,4 +36,16 @@ public class Event {
     private String programmeUrl;  // URL du programme PDF
 
     private Long organisateurId;  // pour le lien avec l’organisateur plus tard
+
+    private Integer capacite;     // nombre de places, null = illimité
+
+    // places prises : modifié uniquement par les UPDATE conditionnels d'EventRepository, jamais par save()
+    @Column(insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer inscrits = 0;
+
+    @Version
+    @ColumnDefault("0")
+    private Long version;         // incrémentée à chaque modification, sert d'ETag
 }
\ No newline at end of file
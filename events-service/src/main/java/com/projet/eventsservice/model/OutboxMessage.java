@@ -0,0 +1,44 @@
+package com.projet.eventsservice.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+// Notification à transmettre au microservice notifications, écrite dans la même transaction
+// que l'inscription / l'événement qui la déclenche puis envoyée par OutboxDispatcher.
+@Entity
+@Table(name = "notification_outbox", indexes = @Index(name = "idx_outbox_statut_essai", columnList = "statut, prochainEssai"))
+@Data
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+    @SequenceGenerator(name = "notification_outbox_seq", sequenceName = "notification_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    private Long destinataireId;
+    private Long eventId;
+    private String type;
+
+    @Column(length = 2000)
+    private String message;
+
+    private String statut;              // EN_ATTENTE, ECHEC (abandonnée après trop de tentatives)
+    private int tentatives;
+    private LocalDateTime prochainEssai;
+    private LocalDateTime dateCreation;
+
+    @Column(length = 500)
+    private String derniereErreur;
+
+    // diffusion "nouvel événement" : id du dernier participant déjà mis en file (reprise après un arrêt)
+    private Long curseur;
+}
@@ -6,11 +6,21 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Data;
 
 @Entity
-@Table(name = "registrations")
+// une seule inscription par participant et par événement, garanti par la base ;
+// cette contrainte sert aussi d'index pour les recherches par événement
+@Table(name = "registrations",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_registrations_event_participant", columnNames = { "event_id", "participant_id" }),
+        indexes = {
+                @Index(name = "idx_registrations_participant_event", columnList = "participant_id, event_id"),
+                @Index(name = "idx_registrations_event_statut", columnList = "event_id, statut")
+        })
 @Data
 public class Registration {
 
@@ -1,15 +1,83 @@
 package com.projet.eventsservice.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.projet.eventsservice.dto.SeatState;
 import com.projet.eventsservice.model.Event;
 
-public interface EventRepository extends JpaRepository<Event, Long> {
+import jakarta.persistence.QueryHint;
+
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
 
     List<Event> findByTitreContainingIgnoreCase(String keyword);
 
     List<Event> findByLieuContainingIgnoreCase(String lieu);
 
-}
\ No newline at end of file
+    // pagination par curseur : les événements dont l'id suit le dernier id reçu
+    List<Event> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    // parcours complet via un curseur JDBC (à consommer dans une transaction)
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Event e order by e.id")
+    Stream<Event> streamAllOrderById();
+
+    // prend une place si l'événement n'est pas complet (atomique, sans lecture préalable) ; 0 = complet ou inconnu.
+    // la version change avec le nombre d'inscrits : l'ETag de GET /api/events/{id} suit
+    @Modifying
+    @Query("update Event e set e.inscrits = e.inscrits + 1, e.version = coalesce(e.version, 0) + 1 "
+            + "where e.id = :id and (e.capacite is null or e.inscrits < e.capacite)")
+    int reserveSeat(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Event e set e.inscrits = e.inscrits - 1, e.version = coalesce(e.version, 0) + 1 "
+            + "where e.id = :id and e.inscrits > 0")
+    int releaseSeat(@Param("id") Long id);
+
+    // inscriptions refusées puis acceptées : toutes les places ou aucune
+    @Modifying
+    @Query("update Event e set e.inscrits = e.inscrits + :count, e.version = coalesce(e.version, 0) + 1 "
+            + "where e.id = :id and (e.capacite is null or e.inscrits + :count <= e.capacite)")
+    int reserveSeats(@Param("id") Long id, @Param("count") int count);
+
+    // inscriptions refusées : leurs places sont rendues
+    @Modifying
+    @Query("update Event e set e.inscrits = case when e.inscrits > :count then e.inscrits - :count else 0 end, "
+            + "e.version = coalesce(e.version, 0) + 1 where e.id = :id and e.inscrits > 0")
+    int releaseSeats(@Param("id") Long id, @Param("count") int count);
+
+    @Query("select new com.projet.eventsservice.dto.SeatState(e.capacite, e.inscrits) from Event e where e.id = :id")
+    Optional<SeatState> findSeatState(@Param("id") Long id);
+
+    // recale les compteurs sur les inscriptions existantes, hors inscriptions refusées
+    // (seuls les événements dont le compteur est faux changent de version)
+    @Modifying
+    @Transactional
+    @Query("update Event e set e.inscrits = (select count(r) from Registration r where r.eventId = e.id "
+            + "and (r.statut is null or r.statut <> 'REFUSEE')), "
+            + "e.version = coalesce(e.version, 0) + 1 "
+            + "where coalesce(e.inscrits, -1) <> (select count(r) from Registration r where r.eventId = e.id "
+            + "and (r.statut is null or r.statut <> 'REFUSEE'))")
+    int recountSeats();
+
+    // URLs de fichiers encore utilisées par un événement (ramasse-miettes de FileStorage)
+    @Query("select e.imageUrl from Event e where e.imageUrl like :pattern "
+            + "union select e.programmeUrl from Event e where e.programmeUrl like :pattern")
+    List<String> findFileUrls(@Param("pattern") String pattern);
+}
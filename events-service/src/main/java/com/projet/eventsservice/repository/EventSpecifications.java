@@ -0,0 +1,56 @@
+package com.projet.eventsservice.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.projet.eventsservice.model.Event;
+
+// Critères de recherche des événements, composables et évalués côté base
+public final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    public static Specification<Event> titreContient(String keyword) {
+        return contient("titre", keyword);
+    }
+
+    public static Specification<Event> lieuContient(String lieu) {
+        return contient("lieu", lieu);
+    }
+
+    public static Specification<Event> typeContient(String type) {
+        return contient("type", type);
+    }
+
+    // événements qui commencent au plus tôt à "debut"
+    public static Specification<Event> commenceApres(LocalDateTime debut) {
+        if (debut == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dateDebut"), debut);
+    }
+
+    // événements qui se terminent au plus tard à "fin"
+    public static Specification<Event> termineAvant(LocalDateTime fin) {
+        if (fin == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dateFin"), fin);
+    }
+
+    // un critère null est ignoré par Specification.where/and
+    private static Specification<Event> contient(String champ, String valeur) {
+        if (valeur == null || valeur.isBlank()) {
+            return null;
+        }
+        // on échappe les jokers SQL pour garder la sémantique "contient" de l'ancienne recherche
+        String echappe = valeur.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        String motif = "%" + echappe + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get(champ)), motif, '\\');
+    }
+}
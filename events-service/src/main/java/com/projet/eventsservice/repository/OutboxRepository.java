@@ -0,0 +1,25 @@
+package com.projet.eventsservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.projet.eventsservice.model.OutboxMessage;
+
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // messages à envoyer maintenant, dans l'ordre d'écriture
+    List<OutboxMessage> findByStatutAndProchainEssaiLessThanEqualOrderByIdAsc(String statut, LocalDateTime now,
+            Limit limit);
+
+    long countByStatut(String statut);
+
+    @Modifying
+    @Query("update OutboxMessage m set m.curseur = :curseur where m.id = :id")
+    int updateCurseur(@Param("id") Long id, @Param("curseur") Long curseur);
+}
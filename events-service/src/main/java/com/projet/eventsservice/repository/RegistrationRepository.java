@@ -1,10 +1,18 @@
 package com.projet.eventsservice.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.projet.eventsservice.dto.RegistrationSummary;
+import com.projet.eventsservice.dto.StatutCount;
 import com.projet.eventsservice.model.Registration;
 
 public interface RegistrationRepository extends JpaRepository<Registration, Long> {
@@ -13,5 +21,46 @@ public interface RegistrationRepository extends JpaRepository<Registration, Long
 
     List<Registration> findByParticipantId(Long participantId);
 
+    // versions paginées : projection sur les colonnes utiles, comptage servi par l'index
+    @Query(value = "select new com.projet.eventsservice.dto.RegistrationSummary(r.id, r.eventId, r.participantId, r.statut, r.dateInscription) "
+            + "from Registration r where r.eventId = :eventId",
+            countQuery = "select count(r) from Registration r where r.eventId = :eventId")
+    Page<RegistrationSummary> findSummariesByEventId(@Param("eventId") Long eventId, Pageable pageable);
+
+    @Query(value = "select new com.projet.eventsservice.dto.RegistrationSummary(r.id, r.eventId, r.participantId, r.statut, r.dateInscription) "
+            + "from Registration r where r.participantId = :participantId",
+            countQuery = "select count(r) from Registration r where r.participantId = :participantId")
+    Page<RegistrationSummary> findSummariesByParticipantId(@Param("participantId") Long participantId, Pageable pageable);
+
     Optional<Registration> findByEventIdAndParticipantId(Long eventId, Long participantId);
-}
\ No newline at end of file
+
+    // nombre de lignes supprimées : 0 si une autre requête l'a déjà fait
+    @Modifying
+    @Query("delete from Registration r where r.id = :id")
+    int deleteRegistration(@Param("id") Long id);
+
+    // participants de la liste effectivement inscrits à l'événement
+    @Query("select r.participantId from Registration r where r.eventId = :eventId and r.participantId in :participantIds")
+    List<Long> findParticipantIds(@Param("eventId") Long eventId,
+            @Param("participantIds") Collection<Long> participantIds);
+
+    // changement de statut en une seule requête pour tout un lot de participants, en deux temps selon que
+    // l'inscription était refusée ou non (une inscription refusée n'occupe pas de place) ;
+    // le nombre de lignes modifiées donne le nombre de places à rendre ou à reprendre
+    @Modifying
+    @Query("update Registration r set r.statut = :statut where r.eventId = :eventId and r.participantId in :participantIds "
+            + "and (r.statut is null or r.statut <> 'REFUSEE')")
+    int updateStatutsNotRefused(@Param("eventId") Long eventId, @Param("participantIds") Collection<Long> participantIds,
+            @Param("statut") String statut);
+
+    @Modifying
+    @Query("update Registration r set r.statut = :statut where r.eventId = :eventId and r.participantId in :participantIds "
+            + "and r.statut = 'REFUSEE'")
+    int updateStatutsRefused(@Param("eventId") Long eventId, @Param("participantIds") Collection<Long> participantIds,
+            @Param("statut") String statut);
+
+    // comptage par statut calculé en base, sans charger les inscriptions
+    @Query("select new com.projet.eventsservice.dto.StatutCount(r.eventId, r.statut, count(r)) from Registration r "
+            + "where r.eventId in :eventIds group by r.eventId, r.statut")
+    List<StatutCount> countByStatut(@Param("eventIds") Collection<Long> eventIds);
+}
@@ -0,0 +1,66 @@
+package com.projet.eventsservice.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projet.eventsservice.model.Event;
+import com.projet.eventsservice.repository.EventRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Cache en lecture des événements par id (borné en taille et en durée de vie).
+// Les écritures passent par EventController qui invalide l'entrée correspondante.
+@Service
+public class EventCache {
+
+    private final EventRepository eventRepository;
+    private final Cache<Long, Event> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public EventCache(EventRepository eventRepository, MeterRegistry meterRegistry,
+            @Value("${app.events.cache.max-size:10000}") long maxSize,
+            @Value("${app.events.cache.ttl:10m}") Duration ttl) {
+        this.eventRepository = eventRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size... sous le nom "events"
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "events");
+    }
+
+    // les absences ne sont pas mises en cache : un événement créé ensuite sera trouvé.
+    // La lecture se fait hors du verrou du cache : un chargement qui attend une connexion
+    // ne doit pas bloquer les invalidations des requêtes qui en détiennent une.
+    public Optional<Event> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Event cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long generation = invalidations.get();
+        Optional<Event> loaded = eventRepository.findById(id);
+        // une invalidation pendant la lecture : la valeur lue est peut-être déjà périmée, on ne la garde pas
+        if (loaded.isPresent() && invalidations.get() == generation) {
+            cache.asMap().putIfAbsent(id, loaded.get());
+        }
+        return loaded;
+    }
+
+    public void evict(Long id) {
+        if (id != null) {
+            invalidations.incrementAndGet();
+            cache.invalidate(id);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.projet.eventsservice.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.projet.eventsservice.model.Event;
+import com.projet.eventsservice.repository.EventRepository;
+
+import jakarta.persistence.EntityManager;
+
+// Export NDJSON : une ligne JSON par événement, écrite au fil du curseur JDBC.
+// Chaque entité est détachée après écriture, la mémoire reste constante quelle que soit la taille de la table.
+@Service
+public class EventExportService {
+
+    private static final int FLUSH_EVERY = 200;
+
+    private final EventRepository eventRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter writer;
+
+    public EventExportService(EventRepository eventRepository, EntityManager entityManager,
+            PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.eventRepository = eventRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writer = objectMapper.writerFor(Event.class);
+    }
+
+    public void writeNdjson(OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Event> events = eventRepository.streamAllOrderById()) {
+                int[] written = { 0 };
+                events.forEach(event -> {
+                    try {
+                        out.write(writer.writeValueAsBytes(event));
+                        out.write('\n');
+                        entityManager.detach(event);
+                        if (++written[0] % FLUSH_EVERY == 0) {
+                            out.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        });
+    }
+}
@@ -0,0 +1,388 @@
+package com.projet.eventsservice.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.projet.eventsservice.model.Event;
+import com.projet.eventsservice.repository.EventRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Index inversé en mémoire (trigrammes) sur titre / lieu / type pour la recherche plein texte.
+// Un LIKE '%x%' ne peut pas utiliser d'index B-tree : ici chaque trigramme pointe vers les événements qui le contiennent.
+//
+// Chaque document reçoit un numéro (ordinal) croissant : les listes de trigrammes sont donc des int[] triés
+// par simple ajout en fin. Une suppression laisse un trou, nettoyé par compaction quand il y en a trop.
+@Service
+public class EventSearchIndex {
+
+    private static final int N = 3;
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATEURS = Pattern.compile("\\s+");
+
+    // poids des champs dans le score
+    private static final int POIDS_TITRE = 3;
+    private static final int POIDS_TYPE = 2;
+    private static final int POIDS_LIEU = 2;
+
+    private final EventRepository eventRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private List<IndexedEvent> documents = new ArrayList<>();   // par ordinal, null si supprimé
+    private Map<Long, Integer> ordinals = new HashMap<>();
+    private Map<String, IntList> postings = new HashMap<>();
+    private int deleted;
+
+    public EventSearchIndex(EventRepository eventRepository, MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+
+        Gauge.builder("events.search.index.documents", this, EventSearchIndex::size)
+                .description("Nombre d'événements indexés")
+                .register(meterRegistry);
+        Gauge.builder("events.search.index.terms", this, EventSearchIndex::termCount)
+                .description("Nombre de trigrammes distincts")
+                .register(meterRegistry);
+        Gauge.builder("events.search.index.memory", this, EventSearchIndex::estimatedMemoryBytes)
+                .description("Mémoire estimée de l'index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private record IndexedEvent(Long id, String titre, String lieu, String type) {
+    }
+
+    private record ScoredId(Long id, int score) {
+    }
+
+    // liste d'entiers triée, sans encapsulation en Long
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    // construit l'index au démarrage à partir de la base
+    // la lecture se fait sous le verrou : index() et remove() sont appelés après le commit, donc une écriture
+    // concurrente est soit déjà visible dans la lecture, soit appliquée après la reconstruction, jamais écrasée
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            List<Event> events = eventRepository.findAll();
+            reset();
+            for (Event event : events) {
+                if (event.getId() != null) {
+                    doIndex(toIndexed(event));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ajoute ou remplace un événement dans l'index
+    public void index(Event event) {
+        if (event == null || event.getId() == null) {
+            return;
+        }
+        IndexedEvent doc = toIndexed(event);
+        lock.writeLock().lock();
+        try {
+            doRemove(event.getId());
+            doIndex(doc);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            doRemove(eventId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // renvoie les ids des événements contenant tous les mots de la requête, du plus pertinent au moins pertinent
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = candidates(tokens);
+            int count = candidates == null ? documents.size() : candidates.length;
+
+            // tas min de taille "limit" : on ne trie que les meilleurs résultats
+            Comparator<ScoredId> order = Comparator.comparingInt(ScoredId::score)
+                    .thenComparing(ScoredId::id, Comparator.reverseOrder());
+            PriorityQueue<ScoredId> top = new PriorityQueue<>(limit + 1, order);
+            for (int i = 0; i < count; i++) {
+                IndexedEvent doc = documents.get(candidates == null ? i : candidates[i]);
+                if (doc == null) {
+                    continue;
+                }
+                int score = score(doc, tokens);
+                if (score == 0) {
+                    continue;
+                }
+                ScoredId scored = new ScoredId(doc.id(), score);
+                if (top.size() < limit) {
+                    top.add(scored);
+                } else if (order.compare(scored, top.peek()) > 0) {
+                    top.poll();
+                    top.add(scored);
+                }
+            }
+
+            Long[] ids = new Long[top.size()];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                ids[i] = top.poll().id();
+            }
+            return List.of(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // estimation grossière : en-têtes d'objets, chaînes, tableaux et entrées des HashMap
+    public long estimatedMemoryBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 16 + documents.size() * 4L;
+            for (Map.Entry<String, IntList> entry : postings.entrySet()) {
+                bytes += 32 + 48 + entry.getKey().length();      // entrée + String
+                bytes += 24 + 16 + entry.getValue().values.length * 4L;
+            }
+            for (IndexedEvent doc : documents) {
+                if (doc != null) {
+                    bytes += 32 + 16 + 3 * 48 + length(doc.titre()) + length(doc.lieu()) + length(doc.type());
+                    bytes += 32 + 16 + 16;                          // entrée de "ordinals"
+                }
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void reset() {
+        documents = new ArrayList<>();
+        ordinals = new HashMap<>();
+        postings = new HashMap<>();
+        deleted = 0;
+    }
+
+    private void doIndex(IndexedEvent doc) {
+        int ordinal = documents.size();
+        documents.add(doc);
+        ordinals.put(doc.id(), ordinal);
+
+        Set<String> trigrams = new HashSet<>();
+        addTrigrams(doc.titre(), trigrams);
+        addTrigrams(doc.lieu(), trigrams);
+        addTrigrams(doc.type(), trigrams);
+        for (String trigram : trigrams) {
+            postings.computeIfAbsent(trigram, t -> new IntList()).add(ordinal);
+        }
+    }
+
+    private void doRemove(Long eventId) {
+        Integer ordinal = ordinals.remove(eventId);
+        if (ordinal != null) {
+            documents.set(ordinal, null);
+            deleted++;
+        }
+    }
+
+    // quand plus de la moitié des ordinaux sont des trous, on reconstruit à partir des documents vivants
+    private void compactIfNeeded() {
+        if (deleted < 1_000 || deleted * 2 < documents.size()) {
+            return;
+        }
+        List<IndexedEvent> alive = documents.stream().filter(d -> d != null).toList();
+        reset();
+        alive.forEach(this::doIndex);
+    }
+
+    // intersection des listes de trigrammes de chaque mot ; null si aucun mot n'est assez long pour filtrer
+    private int[] candidates(List<String> tokens) {
+        List<IntList> lists = new ArrayList<>();
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String token : tokens) {
+            addTrigrams(token, trigrams);
+        }
+        for (String trigram : trigrams) {
+            IntList list = postings.get(trigram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        if (lists.isEmpty()) {
+            return null;
+        }
+        lists.sort(Comparator.comparingInt(l -> l.size));
+
+        IntList first = lists.get(0);
+        int[] result = Arrays.copyOf(first.values, first.size);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    // fusion linéaire si les tailles sont proches, sinon recherche dichotomique dans la grande liste
+    private static int[] intersect(int[] small, IntList large) {
+        int[] result = new int[small.length];
+        int size = 0;
+        if (large.size < small.length * 8) {
+            int i = 0;
+            int j = 0;
+            while (i < small.length && j < large.size) {
+                if (small[i] < large.values[j]) {
+                    i++;
+                } else if (small[i] > large.values[j]) {
+                    j++;
+                } else {
+                    result[size++] = small[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, size);
+        }
+        int from = 0;
+        for (int value : small) {
+            int pos = Arrays.binarySearch(large.values, from, large.size, value);
+            if (pos >= 0) {
+                result[size++] = value;
+                from = pos + 1;
+            } else {
+                from = -pos - 1;
+            }
+            if (from >= large.size) {
+                break;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    // tous les mots doivent être présents ; les trigrammes ne garantissent pas la contiguïté, indexOf le vérifie
+    private int score(IndexedEvent doc, List<String> tokens) {
+        int score = 0;
+        for (String token : tokens) {
+            int tokenScore = fieldScore(doc.titre(), token, POIDS_TITRE)
+                    + fieldScore(doc.type(), token, POIDS_TYPE)
+                    + fieldScore(doc.lieu(), token, POIDS_LIEU);
+            if (tokenScore == 0) {
+                return 0;
+            }
+            score += tokenScore;
+        }
+        return score;
+    }
+
+    // sous-chaîne : poids ; début de mot : x2 ; mot entier : x3
+    private static int fieldScore(String field, String token, int poids) {
+        if (field == null) {
+            return 0;
+        }
+        int index = field.indexOf(token);
+        if (index < 0) {
+            return 0;
+        }
+        while (index >= 0) {
+            boolean debutMot = index == 0 || !Character.isLetterOrDigit(field.charAt(index - 1));
+            if (debutMot) {
+                int fin = index + token.length();
+                boolean motEntier = fin == field.length() || !Character.isLetterOrDigit(field.charAt(fin));
+                return motEntier ? poids * 3 : poids * 2;
+            }
+            index = field.indexOf(token, index + 1);
+        }
+        return poids;
+    }
+
+    private static void addTrigrams(String text, Set<String> target) {
+        if (text == null) {
+            return;
+        }
+        for (int i = 0; i + N <= text.length(); i++) {
+            target.add(text.substring(i, i + N));
+        }
+    }
+
+    private static IndexedEvent toIndexed(Event event) {
+        return new IndexedEvent(event.getId(), normalize(event.getTitre()), normalize(event.getLieu()),
+                normalize(event.getType()));
+    }
+
+    private static List<String> tokenize(String query) {
+        String normalized = normalize(query);
+        if (normalized == null || normalized.isBlank()) {
+            return List.of();
+        }
+        return List.of(SEPARATEURS.split(normalized.trim()));
+    }
+
+    // minuscules sans accents : "Conférence" et "conference" donnent les mêmes trigrammes
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return ACCENTS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
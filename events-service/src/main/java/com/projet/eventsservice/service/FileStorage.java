@@ -0,0 +1,269 @@
+package com.projet.eventsservice.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.projet.eventsservice.repository.EventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Stockage des fichiers uploadés adressé par contenu : le nom est le SHA-256 du fichier,
+// rangé sous <upload.dir>/ab/cd/<sha256>.<ext>. Un même fichier n'est stocké qu'une fois et son URL
+// ne change jamais de contenu. Les anciens fichiers "timestamp_nom" restent servis depuis la racine.
+@Service
+public class FileStorage {
+
+    private static final Logger log = LoggerFactory.getLogger(FileStorage.class);
+
+    public static final String URL_PREFIX = "/api/files/";
+
+    // nom d'un blob : 64 caractères hexadécimaux + extension éventuelle
+    private static final Pattern BLOB_NAME = Pattern.compile("([0-9a-f]{64})(\\.[a-z0-9]{1,10})?");
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,10}");
+
+    private final Path root;
+    private final Path tmpDir;
+    private final Path variantsDir;
+    private final EventRepository eventRepository;
+    private final Duration gcGrace;
+
+    // rend atomiques "existe ? on le rafraîchit" côté upload et "vieux et non référencé ? on le supprime" côté
+    // ramasse-miettes : un blob réutilisé par un upload ne peut pas disparaître entre les deux
+    private final Lock blobLock = new ReentrantLock();
+
+    private final Counter storedCounter;
+    private final Counter dedupedCounter;
+    private final Counter collectedCounter;
+
+    public FileStorage(@Value("${app.upload.dir:uploads}") String uploadDir, EventRepository eventRepository,
+            MeterRegistry meterRegistry, @Value("${app.upload.gc-grace:24h}") Duration gcGrace) {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.tmpDir = root.resolve("tmp");
+        this.variantsDir = root.resolve("variants");
+        this.eventRepository = eventRepository;
+        this.gcGrace = gcGrace;
+
+        this.storedCounter = Counter.builder("files.uploads").tag("outcome", "stored").register(meterRegistry);
+        this.dedupedCounter = Counter.builder("files.uploads").tag("outcome", "deduplicated").register(meterRegistry);
+        this.collectedCounter = Counter.builder("files.gc.deleted").register(meterRegistry);
+    }
+
+    // écrit le flux sur disque en calculant son empreinte au passage ; renvoie le nom public du fichier
+    public String store(InputStream content, String originalFilename) throws IOException {
+        Files.createDirectories(tmpDir);
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(content, digest)) {
+                Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String name = HexFormat.of().formatHex(digest.digest()) + extension(originalFilename);
+            Path target = blobPath(name);
+
+            blobLock.lock();
+            try {
+                if (Files.exists(target)) {
+                    return deduplicated(target);
+                }
+                Files.createDirectories(target.getParent());
+                try {
+                    move(tmp, target);
+                } catch (FileAlreadyExistsException e) {
+                    // même contenu envoyé au même moment par une autre requête
+                    return deduplicated(target);
+                }
+            } finally {
+                blobLock.unlock();
+            }
+            storedCounter.increment();
+            return name;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // déjà présent : on repousse le ramassage pour ce nouvel upload
+    private String deduplicated(Path target) throws IOException {
+        dedupedCounter.increment();
+        Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+        return target.getFileName().toString();
+    }
+
+    // renommage atomique si le système de fichiers le permet (une cible existante, de même contenu, est remplacée) ;
+    // sinon déplacement simple, qui lève FileAlreadyExistsException si une autre requête a gagné la course
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target);
+        }
+    }
+
+    // chemin sur disque d'un nom public, null s'il ne désigne pas un fichier du stockage
+    public Path resolve(String name) {
+        if (BLOB_NAME.matcher(name).matches()) {
+            return blobPath(name);
+        }
+        // ancien format, à plat dans la racine ("../" et sous-dossiers refusés)
+        Path legacy = root.resolve(name).normalize();
+        return root.equals(legacy.getParent()) ? legacy : null;
+    }
+
+    // nom dérivé du contenu : le fichier derrière cette URL ne changera jamais
+    public boolean isContentAddressed(String name) {
+        return BLOB_NAME.matcher(name).matches();
+    }
+
+    // ab/cd/<sha256>.<ext> : quelques centaines de fichiers au plus par dossier
+    private Path blobPath(String name) {
+        return shard(root, name).resolve(name);
+    }
+
+    private static Path shard(Path dir, String name) {
+        return dir.resolve(name.substring(0, 2)).resolve(name.substring(2, 4));
+    }
+
+    // variante redimensionnée d'une image : variants/<largeur>/[ab/cd/]<nom sans extension>.<png|jpg>
+    public Path variantPath(String name, int width, String format) {
+        return variantIn(variantsDir.resolve(Integer.toString(width)), name, format);
+    }
+
+    private static Path variantIn(Path dir, String name, String format) {
+        if (BLOB_NAME.matcher(name).matches()) {
+            dir = shard(dir, name);
+        }
+        int dot = name.lastIndexOf('.');
+        return dir.resolve((dot > 0 ? name.substring(0, dot) : name) + "." + format);
+    }
+
+    // les variantes d'un blob supprimé partent avec lui
+    private void deleteVariants(String name) throws IOException {
+        if (!Files.isDirectory(variantsDir)) {
+            return;
+        }
+        try (Stream<Path> widths = Files.list(variantsDir)) {
+            for (Path widthDir : (Iterable<Path>) widths::iterator) {
+                for (String format : new String[] { "png", "jpg" }) {
+                    Files.deleteIfExists(variantIn(widthDir, name, format));
+                }
+            }
+        }
+    }
+
+    // Ramasse-miettes : supprime les blobs qui ne sont plus référencés par aucun événement (imageUrl, programmeUrl).
+    // Le délai de grâce protège les fichiers uploadés dont l'événement n'est pas encore enregistré.
+    @Scheduled(initialDelayString = "${app.upload.gc-initial-delay:300000}",
+            fixedDelayString = "${app.upload.gc-interval:21600000}")
+    public void collectGarbage() {
+        try {
+            int deleted = collect(Instant.now().minus(gcGrace));
+            if (deleted > 0) {
+                log.info("Stockage des fichiers : {} fichiers orphelins supprimés", deleted);
+            }
+        } catch (IOException e) {
+            log.warn("Ramasse-miettes des fichiers interrompu : {}", e.getMessage());
+        }
+    }
+
+    public int collect(Instant olderThan) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        Set<String> referenced = referencedNames();
+        int deleted = 0;
+        try (Stream<Path> files = Files.walk(root, 3)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (file.startsWith(variantsDir) || root.relativize(file).getNameCount() != 3
+                        || !BLOB_NAME.matcher(name).matches()
+                        || referenced.contains(name)) {
+                    continue;
+                }
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(olderThan) && delete(file, name, olderThan)) {
+                    collectedCounter.increment();
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    // Nouvelle vérification sous verrou : l'index des références a pu vieillir pendant le parcours,
+    // et un upload du même contenu a pu rafraîchir le fichier depuis
+    private boolean delete(Path file, String name, Instant olderThan) throws IOException {
+        blobLock.lock();
+        try {
+            if (!Files.exists(file) || !Files.getLastModifiedTime(file).toInstant().isBefore(olderThan)
+                    || !eventRepository.findFileUrls("%" + URL_PREFIX + name).isEmpty()
+                    || !Files.deleteIfExists(file)) {
+                return false;
+            }
+            deleteVariants(name);
+            return true;
+        } finally {
+            blobLock.unlock();
+        }
+    }
+
+    // index des références : noms de blobs cités par les événements
+    private Set<String> referencedNames() {
+        Set<String> names = new HashSet<>();
+        for (String url : eventRepository.findFileUrls("%" + URL_PREFIX + "%")) {
+            Matcher m = BLOB_NAME.matcher(url.substring(url.lastIndexOf('/') + 1));
+            if (m.matches()) {
+                names.add(m.group());
+            }
+        }
+        return names;
+    }
+
+    // extension d'origine en minuscules, ignorée si elle n'est pas alphanumérique
+    private static String extension(String originalFilename) {
+        if (originalFilename == null) {
+            return "";
+        }
+        String name = originalFilename.substring(Math.max(originalFilename.lastIndexOf('/'), originalFilename.lastIndexOf('\\')) + 1);
+        int dot = name.lastIndexOf('.');
+        if (dot < 0) {
+            return "";
+        }
+        String ext = name.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return EXTENSION.matcher(ext).matches() ? "." + ext : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.projet.eventsservice.service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+
+// Miniatures des affiches : créées en arrière-plan après l'upload (pool borné propre à ce service)
+// et gardées sur disque à côté des originaux. GET /api/files/{nom}?size=thumb|preview les sert.
+// Le pool n'est pas déclaré comme bean : un Executor dans le contexte remplacerait l'applicationTaskExecutor
+// de Spring Boot, utilisé par Spring MVC pour les réponses asynchrones (GET /api/events/stream).
+@Service
+public class ImageVariants {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariants.class);
+
+    // formats décodables par ImageIO sans dépendance supplémentaire
+    private static final Set<String> SOURCE_FORMATS = Set.of("png", "jpg", "jpeg", "gif", "bmp");
+
+    // sources déjà encodées comme leur variante (voir format)
+    private static final Set<String> VARIANT_FORMATS = Set.of("png", "jpg", "jpeg");
+
+    // au-delà, l'image n'est pas décodée (protection mémoire)
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    private final FileStorage fileStorage;
+    private final ThreadPoolTaskExecutor executor;
+    // pool créé ici (et non fourni par un test) : arrêté avec le contexte
+    private final boolean ownsExecutor;
+    private final Map<String, Integer> widths;
+
+    // variantes en cours de création : une seule tâche par fichier et par taille
+    private final Set<String> inProgress = ConcurrentHashMap.newKeySet();
+
+    private final Timer generateTimer;
+    private final Counter createdCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public ImageVariants(FileStorage fileStorage, MeterRegistry meterRegistry,
+            @Value("${app.images.threads:2}") int threads,
+            @Value("${app.images.queue-capacity:100}") int queueCapacity,
+            @Value("${app.images.thumbnail-width:320}") int thumbnailWidth,
+            @Value("${app.images.preview-width:960}") int previewWidth) {
+        this(fileStorage, imageExecutor(threads, queueCapacity), true, meterRegistry, thumbnailWidth, previewWidth);
+    }
+
+    public ImageVariants(FileStorage fileStorage, ThreadPoolTaskExecutor imageExecutor, MeterRegistry meterRegistry,
+            int thumbnailWidth, int previewWidth) {
+        this(fileStorage, imageExecutor, false, meterRegistry, thumbnailWidth, previewWidth);
+    }
+
+    private ImageVariants(FileStorage fileStorage, ThreadPoolTaskExecutor imageExecutor, boolean ownsExecutor,
+            MeterRegistry meterRegistry, int thumbnailWidth, int previewWidth) {
+        this.fileStorage = fileStorage;
+        this.executor = imageExecutor;
+        this.ownsExecutor = ownsExecutor;
+        this.widths = Map.of("thumb", thumbnailWidth, "preview", previewWidth);
+
+        this.generateTimer = Timer.builder("images.variants.generate").register(meterRegistry);
+        this.createdCounter = Counter.builder("images.variants").tag("outcome", "created").register(meterRegistry);
+        this.failedCounter = Counter.builder("images.variants").tag("outcome", "failed").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("images.variants").tag("outcome", "rejected").register(meterRegistry);
+        Gauge.builder("images.variants.queue.size", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .register(meterRegistry);
+    }
+
+    // pool borné : file pleine => la variante sera créée à la demande suivante
+    private static ThreadPoolTaskExecutor imageExecutor(int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-variants-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    public boolean isSupportedSize(String size) {
+        return widths.containsKey(size);
+    }
+
+    // largeur configurée d'une taille : fait partie du chemin et de l'ETag, une nouvelle largeur donne une nouvelle URL de cache
+    public int width(String size) {
+        return widths.get(size);
+    }
+
+    // après un upload : toutes les tailles, sans attendre
+    public void generateAll(String name) {
+        if (isImage(name)) {
+            widths.keySet().forEach(size -> schedule(name, size));
+        }
+    }
+
+    // chemin de la variante si elle existe ; sinon elle est demandée et l'appelant sert l'original
+    public Optional<Path> find(String name, String size) {
+        if (!isImage(name) || !isSupportedSize(size)) {
+            return Optional.empty();
+        }
+        Path variant = fileStorage.variantPath(name, width(size), format(name));
+        if (Files.isRegularFile(variant)) {
+            return Optional.of(variant);
+        }
+        schedule(name, size);
+        return Optional.empty();
+    }
+
+    private void schedule(String name, String size) {
+        String key = size + "/" + name;
+        if (!inProgress.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generateTimer.record(() -> generate(name, size));
+                } finally {
+                    inProgress.remove(key);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            inProgress.remove(key);
+            rejectedCounter.increment();
+        }
+    }
+
+    private void generate(String name, String size) {
+        Path source = fileStorage.resolve(name);
+        if (source == null || !Files.isRegularFile(source)) {
+            return;
+        }
+        String format = format(name);
+        int width = width(size);
+        Path target = fileStorage.variantPath(name, width, format);
+        if (Files.exists(target)) {
+            return;
+        }
+        try {
+            BufferedImage image = read(source);
+            if (image == null) {
+                failedCounter.increment();
+                return;
+            }
+            Files.createDirectories(target.getParent());
+            Path tmp = Files.createTempFile(target.getParent(), "variant-", ".part");
+            try {
+                if (image.getWidth() > width) {
+                    ImageIO.write(resize(image, width, format), format, tmp.toFile());
+                } else if (VARIANT_FORMATS.contains(extension(name))) {
+                    // déjà assez petite et déjà en PNG/JPEG : copie de l'original
+                    Files.copy(source, tmp, StandardCopyOption.REPLACE_EXISTING);
+                } else {
+                    // gif, bmp : réencodée, le contenu doit correspondre au type annoncé par l'extension
+                    ImageIO.write(image, format, tmp.toFile());
+                }
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            createdCounter.increment();
+        } catch (IOException | RuntimeException e) {
+            failedCounter.increment();
+            log.warn("Variante {} de {} non créée : {}", size, name, e.getMessage());
+        }
+    }
+
+    // dimensions lues dans l'en-tête avant de décoder
+    private static BufferedImage read(Path source) throws IOException {
+        try (InputStream in = Files.newInputStream(source); ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // réduction par moitiés successives puis interpolation bilinéaire : net sans être coûteux
+    private static BufferedImage resize(BufferedImage image, int width, String format) {
+        int type = "png".equals(format) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(1, (int) Math.round((double) image.getHeight() * w / image.getWidth()));
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w > width);
+        return current;
+    }
+
+    // JPEG pour les photos, PNG pour le reste (transparence)
+    private static String format(String name) {
+        String ext = extension(name);
+        return "jpg".equals(ext) || "jpeg".equals(ext) ? "jpg" : "png";
+    }
+
+    private static boolean isImage(String name) {
+        return SOURCE_FORMATS.contains(extension(name));
+    }
+
+    private static String extension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+}
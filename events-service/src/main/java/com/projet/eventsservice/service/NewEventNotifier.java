@@ -0,0 +1,172 @@
+package com.projet.eventsservice.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projet.eventsservice.dto.FanoutProgress;
+import com.projet.eventsservice.dto.UserInfo;
+import com.projet.eventsservice.model.Event;
+import com.projet.eventsservice.model.OutboxMessage;
+import com.projet.eventsservice.repository.EventRepository;
+import com.projet.eventsservice.repository.OutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Notifie les participants d'un nouvel événement sans faire attendre la requête de création :
+// EventController écrit une seule ligne DIFFUSION_TYPE dans l'outbox, dans la transaction qui crée l'événement.
+// OutboxDispatcher la confie ensuite à expand : la liste des participants est récupérée (triée par id), puis une
+// notification par participant est écrite dans l'outbox, un lot par transaction. Chaque lot enregistre avec lui
+// le dernier participant traité sur la ligne de diffusion : un arrêt entre deux lots reprend au lot suivant,
+// sans perdre ni doubler de notification. La ligne de diffusion est supprimée après le dernier lot.
+@Service
+public class NewEventNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(NewEventNotifier.class);
+
+    public static final String DIFFUSION_TYPE = "DIFFUSION_NOUVEL_EVENEMENT";
+    public static final String NOTIFICATION_TYPE = "NOUVEL_EVENEMENT";
+
+    private final NotificationClient notificationClient;
+    private final NotificationOutbox notificationOutbox;
+    private final OutboxRepository outboxRepository;
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    // suivi des derniers envois, consultable via GET /api/events/{id}/notifications/progress
+    private final Cache<Long, FanoutProgress> progressByEvent = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    private final Counter queuedCounter;
+    private final Counter failedCounter;
+    private final Timer chunkTimer;
+
+    public NewEventNotifier(NotificationClient notificationClient, NotificationOutbox notificationOutbox,
+            OutboxRepository outboxRepository, EventRepository eventRepository,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${app.notifications.fanout.chunk-size:200}") int chunkSize) {
+        this.notificationClient = notificationClient;
+        this.notificationOutbox = notificationOutbox;
+        this.outboxRepository = outboxRepository;
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+
+        this.queuedCounter = Counter.builder("events.fanout.notifications").tag("outcome", "queued").register(meterRegistry);
+        this.failedCounter = Counter.builder("events.fanout.notifications").tag("outcome", "failed").register(meterRegistry);
+        this.chunkTimer = Timer.builder("events.fanout.chunk").description("Durée d'écriture d'un lot dans l'outbox").register(meterRegistry);
+    }
+
+    // à appeler dans la transaction qui crée l'événement
+    public void enqueue(Event event) {
+        notificationOutbox.enqueue(null, event.getId(), DIFFUSION_TYPE, null);
+    }
+
+    public Optional<FanoutProgress> progress(Long eventId) {
+        return Optional.ofNullable(progressByEvent.getIfPresent(eventId));
+    }
+
+    // Remplace la ligne de diffusion par une notification par participant. Une exception (auth-service
+    // indisponible...) laisse la ligne en place : OutboxDispatcher la reprogramme comme un envoi en échec.
+    public void expand(OutboxMessage diffusion) {
+        Long eventId = diffusion.getEventId();
+        FanoutProgress progress = new FanoutProgress();
+        progress.setEventId(eventId);
+        progress.setStartedAt(LocalDateTime.now());
+        progressByEvent.put(eventId, progress);
+        long start = System.nanoTime();
+
+        try {
+            Event event = eventRepository.findById(eventId).orElse(null);
+            List<NotificationOutbox.Pending> notifications = event != null
+                    ? notifications(event, diffusion.getCurseur())
+                    : List.of();
+            progress.setTotal(notifications.size());
+
+            for (int from = 0; from < notifications.size(); from += chunkSize) {
+                List<NotificationOutbox.Pending> chunk = notifications.subList(from, Math.min(from + chunkSize, notifications.size()));
+                Long cursor = chunk.get(chunk.size() - 1).destinataireId();
+                chunkTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                    notificationOutbox.enqueueAll(chunk);
+                    outboxRepository.updateCurseur(diffusion.getId(), cursor);
+                }));
+                // la ligne peut être réenregistrée par OutboxDispatcher en cas d'échec : elle garde le curseur
+                diffusion.setCurseur(cursor);
+                progress.setQueued(progress.getQueued() + chunk.size());
+                queuedCounter.increment(chunk.size());
+            }
+            outboxRepository.deleteAllInBatch(List.of(diffusion));
+        } catch (RuntimeException e) {
+            int failed = progress.getTotal() - progress.getQueued();
+            progress.setFailed(failed);
+            failedCounter.increment(failed);
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            progress.setFinishedAt(LocalDateTime.now());
+            progress.setQueuedPerSecond(elapsed > 0 ? progress.getQueued() * 1e9 / elapsed : 0);
+        }
+        log.info("Nouvel événement {} : {} notifications mises en file ({} notif/s écrites dans l'outbox)",
+                eventId, progress.getQueued(), Math.round(progress.getQueuedPerSecond()));
+    }
+
+    // notifications "nouvel événement" reçues par notifications-service : avancement de la livraison
+    public void delivered(List<OutboxMessage> messages) {
+        Map<Long, Long> perEvent = messages.stream()
+                .filter(msg -> NOTIFICATION_TYPE.equals(msg.getType()) && msg.getEventId() != null)
+                .collect(Collectors.groupingBy(OutboxMessage::getEventId, Collectors.counting()));
+        perEvent.forEach((eventId, count) -> {
+            FanoutProgress progress = progressByEvent.getIfPresent(eventId);
+            if (progress != null) {
+                progress.setDelivered(progress.getDelivered() + count.intValue());
+            }
+        });
+    }
+
+    // participants d'id supérieur au curseur (déjà notifiés lors d'un passage interrompu), triés par id
+    private List<NotificationOutbox.Pending> notifications(Event event, Long after) {
+        List<Long> participantIds = notificationClient.fetchParticipants().stream()
+                .map(UserInfo::getId)
+                .filter(id -> id != null && (after == null || id > after))
+                .distinct()
+                .sorted()
+                .toList();
+        if (participantIds.isEmpty()) {
+            return List.of();
+        }
+
+        String organiserName = null;
+        if (event.getOrganisateurId() != null) {
+            UserInfo organiser = notificationClient.fetchUser(event.getOrganisateurId());
+            if (organiser != null && organiser.getFullName() != null) {
+                organiserName = organiser.getFullName();
+            }
+        }
+        String eventTitle = event.getTitre() != null ? event.getTitre() : "un nouvel événement";
+        String intro = organiserName != null
+                ? "Nouvel événement publié par " + organiserName + " : "
+                : "Nouvel événement publié : ";
+        String message = intro + eventTitle + ".";
+
+        return participantIds.stream()
+                .map(id -> new NotificationOutbox.Pending(id, event.getId(), NOTIFICATION_TYPE, message))
+                .toList();
+    }
+}
@@ -1,61 +1,194 @@
 package com.projet.eventsservice.service;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projet.eventsservice.dto.NotificationRequest;
 import com.projet.eventsservice.dto.UserInfo;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
 @Service
 public class NotificationClient {
 
+    private static final Logger log = LoggerFactory.getLogger(NotificationClient.class);
+
+    // limite acceptée par POST /api/auth/users/batch
+    private static final int USERS_BATCH_SIZE = 1000;
+
     private final RestTemplate restTemplate;
-    // Passe par le gateway pour éviter les problèmes d'accès direct aux microservices
-    private final String notificationsBaseUrl = "http://localhost:8080/api/notifications";
-    private final String authBaseUrl = "http://localhost:8080/api/auth/users";
+    // appels directs aux microservices, résolus par Eureka (sans repasser par le gateway)
+    private final String notificationsBaseUrl;
+    private final String authBaseUrl;
+
+    // infos utilisateur quasi statiques : cache borné en taille et en durée de vie
+    private final Cache<Long, UserInfo> users;
+    // appels en cours : les demandes simultanées d'un même id attendent le même appel
+    private final Map<Long, CompletableFuture<UserInfo>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedCounter;
+    private final MeterRegistry meterRegistry;
+    // compteurs et timers des appels sortants, créés une fois par combinaison de tags
+    private final Map<String, Timer> requestTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    public NotificationClient(RestTemplate interServiceRestTemplate, MeterRegistry meterRegistry,
+            @Value("${app.services.notifications-url:http://NOTIFICATIONS-SERVICE/api/notifications}") String notificationsBaseUrl,
+            @Value("${app.services.auth-users-url:http://AUTH-SERVICE/api/auth/users}") String authBaseUrl,
+            @Value("${app.users.cache.max-size:10000}") long maxSize,
+            @Value("${app.users.cache.ttl:5m}") Duration ttl) {
+        this.restTemplate = interServiceRestTemplate;
+        this.meterRegistry = meterRegistry;
+        this.notificationsBaseUrl = notificationsBaseUrl;
+        this.authBaseUrl = authBaseUrl;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+        this.coalescedCounter = Counter.builder("events.users.coalesced")
+                .description("Recherches d'utilisateur servies par un appel déjà en cours")
+                .register(meterRegistry);
+    }
+
+    // envoi groupé (POST /api/notifications/batch) ; lève une exception en cas d'échec pour que l'appelant réessaie
+    public void sendNotifications(List<NotificationRequest> notifications) {
+        timed("send_notifications", () -> restTemplate.postForEntity(notificationsBaseUrl + "/batch", notifications, Void.class));
+    }
+
+    public UserInfo fetchUser(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        UserInfo cached = users.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<UserInfo> call = new CompletableFuture<>();
+        CompletableFuture<UserInfo> running = inFlight.putIfAbsent(userId, call);
+        if (running != null) {
+            coalescedCounter.increment();
+            return running.join();
+        }
+
+        UserInfo user = null;
+        try {
+            user = loadUser(userId);
+            if (user != null) {
+                users.put(userId, user);
+            }
+        } finally {
+            inFlight.remove(userId, call);
+            call.complete(user);
+        }
+        return user;
+    }
+
+    // plusieurs utilisateurs d'un coup : les ids absents du cache sont demandés via POST /api/auth/users/batch
+    public Map<Long, UserInfo> fetchUsers(Collection<Long> userIds) {
+        Set<Long> ids = new LinkedHashSet<>(userIds);
+        ids.remove(null);
+        Map<Long, UserInfo> result = new HashMap<>(users.getAllPresent(ids));
 
-    public NotificationClient(RestTemplateBuilder builder) {
-        this.restTemplate = builder.build();
+        List<Long> missing = ids.stream().filter(id -> !result.containsKey(id)).toList();
+        for (int from = 0; from < missing.size(); from += USERS_BATCH_SIZE) {
+            List<Long> chunk = missing.subList(from, Math.min(from + USERS_BATCH_SIZE, missing.size()));
+            for (UserInfo user : loadUsers(chunk)) {
+                if (user != null && user.getId() != null) {
+                    users.put(user.getId(), user);
+                    result.put(user.getId(), user);
+                }
+            }
+        }
+        return result;
     }
 
-    public void sendNotification(Long destinataireId, Long eventId, String type, String message) {
-        Map<String, Object> body = Map.of(
-                "participantId", destinataireId,
-                "eventId", eventId,
-                "type", type,
-                "message", message
-        );
+    // liste complète des participants ; une exception si auth-service ne répond pas (la diffusion sera retentée)
+    public List<UserInfo> fetchParticipants() {
+        UserInfo[] participants = timed("fetch_participants",
+                () -> restTemplate.getForObject(authBaseUrl + "/participants", UserInfo[].class));
+        if (participants == null) {
+            return List.of();
+        }
+        // on en profite pour alimenter le cache
+        Arrays.stream(participants)
+                .filter(Objects::nonNull)
+                .filter(u -> u.getId() != null)
+                .forEach(u -> users.put(u.getId(), u));
+        return Arrays.asList(participants);
+    }
 
+    private List<UserInfo> loadUsers(List<Long> userIds) {
         try {
-            restTemplate.postForEntity(notificationsBaseUrl, body, Void.class);
+            UserInfo[] found = timed("fetch_users",
+                    () -> restTemplate.postForObject(authBaseUrl + "/batch", userIds, UserInfo[].class));
+            return found != null ? Arrays.asList(found) : List.of();
         } catch (RuntimeException e) {
-            System.err.println("Erreur lors de l'envoi de la notification : " + e.getMessage());
+            log.warn("Impossible de récupérer {} utilisateurs : {}", userIds.size(), e.getMessage());
+            return List.of();
         }
     }
 
-    public UserInfo fetchUser(Long userId) {
+    private UserInfo loadUser(Long userId) {
         try {
-            return restTemplate.getForObject(authBaseUrl + "/" + userId, UserInfo.class);
+            return timed("fetch_user", () -> restTemplate.getForObject(authBaseUrl + "/{id}", UserInfo.class, userId));
         } catch (RuntimeException e) {
-            System.err.println("Impossible de récupérer l'utilisateur " + userId + " : " + e.getMessage());
+            log.warn("Impossible de récupérer l'utilisateur {} : {}", userId, e.getMessage());
             return null;
         }
     }
 
-    public List<UserInfo> fetchParticipants() {
+    // durée de chaque appel sortant par type d'appel et issue ; les échecs sont aussi comptés par exception
+    private <T> T timed(String call, Supplier<T> request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
         try {
-            UserInfo[] users = restTemplate.getForObject(authBaseUrl + "/participants", UserInfo[].class);
-            if (users == null) {
-                return List.of();
-            }
-            return Arrays.asList(users);
+            return request.get();
         } catch (RuntimeException e) {
-            System.err.println("Impossible de récupérer la liste des participants : " + e.getMessage());
-            return List.of();
+            outcome = "error";
+            errorCounter(call, e.getClass().getSimpleName()).increment();
+            throw e;
+        } finally {
+            sample.stop(requestTimer(call, outcome));
         }
     }
+
+    private Timer requestTimer(String call, String outcome) {
+        return requestTimers.computeIfAbsent(call + "/" + outcome, key -> Timer.builder("events.client.requests")
+                .description("Durée des appels vers auth-service et notifications-service")
+                .tag("call", call)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private Counter errorCounter(String call, String exception) {
+        return errorCounters.computeIfAbsent(call + "/" + exception, key -> Counter.builder("events.client.errors")
+                .description("Appels sortants en échec")
+                .tag("call", call)
+                .tag("exception", exception)
+                .register(meterRegistry));
+    }
 }
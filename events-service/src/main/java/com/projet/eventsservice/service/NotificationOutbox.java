@@ -0,0 +1,58 @@
+package com.projet.eventsservice.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.projet.eventsservice.model.OutboxMessage;
+import com.projet.eventsservice.repository.OutboxRepository;
+
+// Écriture des notifications dans la table outbox : elles rejoignent la transaction de l'appelant,
+// et ne partent donc que si l'inscription / l'événement a bien été enregistré.
+@Service
+public class NotificationOutbox {
+
+    public static final String EN_ATTENTE = "EN_ATTENTE";
+    public static final String ECHEC = "ECHEC";
+
+    private final OutboxRepository outboxRepository;
+
+    public NotificationOutbox(OutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    // une notification à envoyer
+    public record Pending(Long destinataireId, Long eventId, String type, String message) {
+    }
+
+    @Transactional
+    public void enqueue(Long destinataireId, Long eventId, String type, String message) {
+        outboxRepository.save(toMessage(new Pending(destinataireId, eventId, type, message), LocalDateTime.now()));
+    }
+
+    @Transactional
+    public void enqueueAll(List<Pending> notifications) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> messages = new ArrayList<>(notifications.size());
+        for (Pending pending : notifications) {
+            messages.add(toMessage(pending, now));
+        }
+        outboxRepository.saveAll(messages);
+    }
+
+    private static OutboxMessage toMessage(Pending pending, LocalDateTime now) {
+        OutboxMessage msg = new OutboxMessage();
+        msg.setDestinataireId(pending.destinataireId());
+        msg.setEventId(pending.eventId());
+        msg.setType(pending.type());
+        msg.setMessage(pending.message());
+        msg.setStatut(EN_ATTENTE);
+        msg.setTentatives(0);
+        msg.setDateCreation(now);
+        msg.setProchainEssai(now);
+        return msg;
+    }
+}
@@ -0,0 +1,215 @@
+package com.projet.eventsservice.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import com.projet.eventsservice.dto.NotificationRequest;
+import com.projet.eventsservice.model.OutboxMessage;
+import com.projet.eventsservice.repository.OutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Vide la table outbox par lots vers POST /api/notifications/batch.
+// Les lignes de diffusion "nouvel événement" sont d'abord développées par NewEventNotifier.
+// - réponse 4xx : le lot contient au moins un message refusé ; il est coupé en deux jusqu'à isoler
+//   le ou les coupables, qui passent directement au statut ECHEC (inutile de les renvoyer)
+// - erreur 5xx, réseau ou 408/429 : nouvel essai avec attente exponentielle, puis ECHEC après max-attempts ;
+//   les messages déjà en échec sont renvoyés ensemble, en un lot (après une panne, le retard se résorbe
+//   en quelques appels). Si ce lot échoue à nouveau avec une erreur 500, le service répond mais un message
+//   le fait planter : le lot est coupé en deux jusqu'à isoler ce message, seul reporté, les autres passent.
+//   502/503/504 et erreurs réseau signalent une indisponibilité : le lot est reporté tel quel.
+// Prévu pour une seule instance d'events-service (pas de verrouillage des lignes entre instances).
+@Service
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxRepository outboxRepository;
+    private final NotificationClient notificationClient;
+    private final NewEventNotifier newEventNotifier;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private final Counter deliveredCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+
+    public OutboxDispatcher(OutboxRepository outboxRepository, NotificationClient notificationClient,
+            NewEventNotifier newEventNotifier, MeterRegistry meterRegistry,
+            @Value("${app.outbox.batch-size:100}") int batchSize,
+            @Value("${app.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${app.outbox.initial-backoff:2s}") Duration initialBackoff,
+            @Value("${app.outbox.max-backoff:10m}") Duration maxBackoff) {
+        this.outboxRepository = outboxRepository;
+        this.notificationClient = notificationClient;
+        this.newEventNotifier = newEventNotifier;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+
+        this.deliveredCounter = Counter.builder("events.outbox.messages").tag("outcome", "delivered").register(meterRegistry);
+        this.retriedCounter = Counter.builder("events.outbox.messages").tag("outcome", "retried").register(meterRegistry);
+        this.deadCounter = Counter.builder("events.outbox.messages").tag("outcome", "dead").register(meterRegistry);
+        Gauge.builder("events.outbox.pending", outboxRepository, r -> r.countByStatut(NotificationOutbox.EN_ATTENTE))
+                .description("Notifications en attente d'envoi")
+                .register(meterRegistry);
+        Gauge.builder("events.outbox.dead", outboxRepository, r -> r.countByStatut(NotificationOutbox.ECHEC))
+                .description("Notifications abandonnées")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:1000}")
+    public void dispatch() {
+        // on enchaîne les lots tant que la table en contient de pleins
+        List<OutboxMessage> batch;
+        do {
+            batch = outboxRepository.findByStatutAndProchainEssaiLessThanEqualOrderByIdAsc(
+                    NotificationOutbox.EN_ATTENTE, LocalDateTime.now(), Limit.of(batchSize));
+            if (batch.isEmpty() || !send(batch)) {
+                return;
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    // false si notifications-service est indisponible : la suite attendra le prochain passage
+    private boolean send(List<OutboxMessage> batch) {
+        for (OutboxMessage msg : batch) {
+            if (NewEventNotifier.DIFFUSION_TYPE.equals(msg.getType())) {
+                expand(msg);
+            }
+        }
+        List<OutboxMessage> notifications = batch.stream()
+                .filter(msg -> !NewEventNotifier.DIFFUSION_TYPE.equals(msg.getType()))
+                .toList();
+        List<OutboxMessage> fresh = notifications.stream().filter(msg -> msg.getTentatives() == 0).toList();
+        List<OutboxMessage> retried = notifications.stream().filter(msg -> msg.getTentatives() > 0).toList();
+        if (!fresh.isEmpty() && !deliver(fresh, false)) {
+            return false;
+        }
+        return retried.isEmpty() || deliver(retried, true);
+    }
+
+    // isolate : lot de messages déjà en échec, coupé en deux sur une nouvelle erreur serveur
+    private boolean deliver(List<OutboxMessage> messages, boolean isolate) {
+        List<NotificationRequest> payload = messages.stream()
+                .map(msg -> new NotificationRequest(msg.getDestinataireId(), msg.getEventId(), msg.getType(),
+                        msg.getMessage()))
+                .toList();
+
+        try {
+            notificationClient.sendNotifications(payload);
+        } catch (HttpClientErrorException e) {
+            if (isTransient(e)) {
+                reschedule(messages, e);
+                return false;
+            }
+            if (messages.size() == 1) {
+                reject(messages.get(0), e);
+                return true;
+            }
+            int middle = messages.size() / 2;
+            return deliver(messages.subList(0, middle), isolate) && deliver(messages.subList(middle, messages.size()), isolate);
+        } catch (HttpServerErrorException e) {
+            if (!isolate || isUnavailable(e)) {
+                reschedule(messages, e);
+                return false;
+            }
+            // le service répond : seul ce message est reporté, la suite continue
+            if (messages.size() == 1) {
+                reschedule(messages, e);
+                return true;
+            }
+            int middle = messages.size() / 2;
+            return deliver(messages.subList(0, middle), true) && deliver(messages.subList(middle, messages.size()), true);
+        } catch (RuntimeException e) {
+            reschedule(messages, e);
+            return false;
+        }
+
+        outboxRepository.deleteAllInBatch(messages);
+        deliveredCounter.increment(messages.size());
+        newEventNotifier.delivered(messages);
+        return true;
+    }
+
+    // diffusion "nouvel événement" : remplacée par une notification par participant, envoyées aux passages suivants
+    private void expand(OutboxMessage diffusion) {
+        try {
+            newEventNotifier.expand(diffusion);
+        } catch (RuntimeException e) {
+            reschedule(List.of(diffusion), e);
+        }
+    }
+
+    // 408 et 429 : le service est surchargé, pas le message en cause
+    private static boolean isTransient(HttpClientErrorException e) {
+        return e.getStatusCode().isSameCodeAs(HttpStatus.REQUEST_TIMEOUT)
+                || e.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    // service arrêté ou injoignable derrière le gateway, pas le message en cause
+    private static boolean isUnavailable(HttpServerErrorException e) {
+        return e.getStatusCode().isSameCodeAs(HttpStatus.BAD_GATEWAY)
+                || e.getStatusCode().isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE)
+                || e.getStatusCode().isSameCodeAs(HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    // refus définitif : abandonné sans nouvel essai
+    private void reject(OutboxMessage msg, RuntimeException error) {
+        msg.setTentatives(msg.getTentatives() + 1);
+        msg.setDerniereErreur(cause(error));
+        msg.setStatut(NotificationOutbox.ECHEC);
+        outboxRepository.save(msg);
+        deadCounter.increment();
+        log.warn("Notification {} refusée par notifications-service, abandonnée : {}", msg.getId(), msg.getDerniereErreur());
+    }
+
+    private void reschedule(List<OutboxMessage> batch, RuntimeException error) {
+        LocalDateTime now = LocalDateTime.now();
+        String cause = cause(error);
+
+        int dead = 0;
+        for (OutboxMessage msg : batch) {
+            msg.setTentatives(msg.getTentatives() + 1);
+            msg.setDerniereErreur(cause);
+            if (msg.getTentatives() >= maxAttempts) {
+                msg.setStatut(NotificationOutbox.ECHEC);
+                dead++;
+            } else {
+                msg.setProchainEssai(now.plus(backoff(msg.getTentatives())));
+            }
+        }
+        outboxRepository.saveAll(batch);
+        retriedCounter.increment(batch.size() - dead);
+        deadCounter.increment(dead);
+        log.warn("Envoi de {} notifications en échec ({} abandonnées) : {}", batch.size(), dead, cause);
+    }
+
+    private static String cause(RuntimeException error) {
+        return error.getMessage() != null && error.getMessage().length() > 500
+                ? error.getMessage().substring(0, 500)
+                : error.getMessage();
+    }
+
+    // 2s, 4s, 8s... plafonné à max-backoff
+    private Duration backoff(int tentatives) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(tentatives - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
@@ -0,0 +1,83 @@
+package com.projet.eventsservice.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.projet.eventsservice.dto.UserInfo;
+import com.projet.eventsservice.model.Event;
+
+// Textes des notifications liées aux inscriptions : aucune dépendance, les infos utilisateur sont déjà résolues
+public final class RegistrationMessages {
+
+    // au-delà, le récapitulatif de l'organisateur indique seulement le nombre restant
+    static final int MAX_NAMES = 20;
+    // taille de la colonne message (OutboxMessage côté events-service, Notification côté notifications-service)
+    static final int MAX_LENGTH = 2000;
+
+    private RegistrationMessages() {
+    }
+
+    public static String eventTitle(Long eventId, Event event) {
+        return event != null && event.getTitre() != null
+                ? event.getTitre()
+                : "l’événement " + eventId;
+    }
+
+    public static String confirmation(String eventTitle) {
+        return "Votre inscription à " + eventTitle + " est confirmée.";
+    }
+
+    public static String cancellation(String eventTitle) {
+        return "Votre inscription à " + eventTitle + " a été annulée.";
+    }
+
+    public static String decision(String eventTitle, boolean refused) {
+        return refused
+                ? "Votre inscription à " + eventTitle + " a été refusée."
+                : "Votre inscription à " + eventTitle + " a été acceptée.";
+    }
+
+    // participant peut être null si auth-service n'a pas répondu
+    public static String organizerRegistration(Long participantId, UserInfo participant, String eventTitle) {
+        if (participant != null) {
+            return describe(participant) + " s’est inscrit à " + eventTitle + " (id " + participantId + ").";
+        }
+        return "Le participant (id " + participantId + ") s’est inscrit à " + eventTitle + ".";
+    }
+
+    public static String organizerUnregistration(Long participantId, UserInfo participant, String eventTitle) {
+        if (participant != null) {
+            return describe(participant) + " s’est désinscrit de " + eventTitle + " (id " + participantId + ").";
+        }
+        return "Le participant (id " + participantId + ") s’est désinscrit de " + eventTitle + ".";
+    }
+
+    // récapitulatif d'un changement de statut groupé ; participants absents de la map : id seul
+    public static String organizerDecisions(String eventTitle, boolean refused, List<Long> participantIds,
+            Map<Long, UserInfo> participants) {
+        String intro = participantIds.size() + (refused ? " inscription(s) refusée(s)" : " inscription(s) acceptée(s)")
+                + " pour " + eventTitle + " : ";
+        // place gardée pour " et N autre(s)."
+        int budget = MAX_LENGTH - intro.length() - 32;
+        StringBuilder names = new StringBuilder();
+        int listed = 0;
+        for (Long id : participantIds) {
+            String name = participants.containsKey(id) ? describe(participants.get(id)) : "participant " + id;
+            int added = (listed > 0 ? 2 : 0) + name.length();
+            if (listed == MAX_NAMES || names.length() + added > budget) {
+                break;
+            }
+            names.append(listed > 0 ? ", " : "").append(name);
+            listed++;
+        }
+        int others = participantIds.size() - listed;
+        String message = intro + names + (others > 0 ? (listed > 0 ? " et " : "") + others + " autre(s)." : ".");
+        return message.length() <= MAX_LENGTH ? message : message.substring(0, MAX_LENGTH - 1) + "…";
+    }
+
+    private static String describe(UserInfo participant) {
+        String name = participant.getFullName() != null ? participant.getFullName() : "Participant " + participant.getId();
+        String email = participant.getEmail() != null ? participant.getEmail() : "email inconnu";
+        return name + " (" + email + ")";
+    }
+}
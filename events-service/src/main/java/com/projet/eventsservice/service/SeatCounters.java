@@ -0,0 +1,217 @@
+package com.projet.eventsservice.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projet.eventsservice.dto.SeatState;
+import com.projet.eventsservice.model.Event;
+import com.projet.eventsservice.repository.EventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Places restantes des événements à capacité limitée, tenues en mémoire.
+// Quand un événement est complet, les demandes sont refusées ici sans toucher à la base :
+// seules les demandes qui ont une chance d'aboutir vont jusqu'à l'UPDATE conditionnel
+// (EventRepository.reserveSeat), qui reste l'arbitre, y compris entre plusieurs instances.
+// Les compteurs sont recalés régulièrement sur la base.
+@Service
+public class SeatCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatCounters.class);
+
+    private final EventRepository eventRepository;
+    private final Cache<Long, Seats> seatsByEvent = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+
+    private final Counter rejectedInMemory;
+    private final Counter rejectedByDatabase;
+
+    public SeatCounters(EventRepository eventRepository, MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.rejectedInMemory = Counter.builder("events.seats.rejected").tag("source", "memory")
+                .description("Inscriptions refusées, événement complet")
+                .register(meterRegistry);
+        this.rejectedByDatabase = Counter.builder("events.seats.rejected").tag("source", "database")
+                .description("Inscriptions refusées, événement complet")
+                .register(meterRegistry);
+    }
+
+    // remaining : places que cette instance peut encore tenter de prendre
+    // pending : places accordées ici mais dont la demande n'est pas encore soldée
+    // committing / committed : demandes en cours de transaction (voir commit et reconcile)
+    private static final class Seats {
+        private final AtomicInteger remaining;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicInteger committing = new AtomicInteger();
+        private final AtomicLong committed = new AtomicLong();
+
+        Seats(int remaining) {
+            this.remaining = new AtomicInteger(remaining);
+        }
+    }
+
+    // false si l'événement est complet ; un true doit être suivi de commit ou de released
+    public boolean tryAcquire(Event event) {
+        if (event == null || event.getCapacite() == null) {
+            return true;
+        }
+        Seats seats = seats(event.getId());
+        if (seats == null) {
+            return true;
+        }
+        while (true) {
+            int remaining = seats.remaining.get();
+            if (remaining <= 0) {
+                rejectedInMemory.increment();
+                return false;
+            }
+            if (seats.remaining.compareAndSet(remaining, remaining - 1)) {
+                seats.pending.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    // Exécute la transaction qui prend la place accordée par tryAcquire, puis solde la demande :
+    // résultat non null = inscription enregistrée, null = refusée par la base (complet), exception = place rendue.
+    // Entre le commit et la fin de cette méthode, la place est à la fois en base et dans pending :
+    // le compteur committing permet à reconcile de ne pas la retirer deux fois.
+    public <T> T commit(Long eventId, Supplier<T> transaction) {
+        Seats seats = seatsByEvent.getIfPresent(eventId);
+        if (seats != null) {
+            seats.committed.incrementAndGet();
+            seats.committing.incrementAndGet();
+        }
+        try {
+            T result = transaction.get();
+            if (result == null) {
+                soldOut(eventId);
+            } else {
+                confirmed(eventId);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            released(eventId);
+            throw e;
+        } finally {
+            if (seats != null) {
+                seats.committing.decrementAndGet();
+            }
+        }
+    }
+
+    private void confirmed(Long eventId) {
+        Seats seats = seatsByEvent.getIfPresent(eventId);
+        if (seats != null) {
+            seats.pending.decrementAndGet();
+        }
+    }
+
+    // inscription abandonnée (doublon, erreur) : la place est rendue
+    public void released(Long eventId) {
+        Seats seats = seatsByEvent.getIfPresent(eventId);
+        if (seats != null) {
+            seats.pending.decrementAndGet();
+            seats.remaining.incrementAndGet();
+        }
+    }
+
+    // la base a refusé la place : d'autres instances ont pris les dernières
+    private void soldOut(Long eventId) {
+        rejectedByDatabase.increment();
+        Seats seats = seatsByEvent.getIfPresent(eventId);
+        if (seats != null) {
+            seats.pending.decrementAndGet();
+            seats.remaining.set(0);
+        }
+    }
+
+    // désinscription : une place se libère
+    public void seatFreed(Long eventId) {
+        seatsFreed(eventId, 1);
+    }
+
+    // inscriptions refusées : leurs places se libèrent
+    public void seatsFreed(Long eventId, int count) {
+        Seats seats = seatsByEvent.getIfPresent(eventId);
+        if (seats != null) {
+            seats.remaining.addAndGet(count);
+        }
+    }
+
+    // capacité modifiée ou événement supprimé : relu en base au prochain accès
+    public void evict(Long eventId) {
+        seatsByEvent.invalidate(eventId);
+    }
+
+    // Récupère les places libérées ou prises par les autres instances.
+    // Une demande de pending dont la transaction a déjà été validée est comptée en base : la retirer aussi
+    // de db.remaining donnerait de faux "complet". Toute demande qui était en transaction avant la lecture
+    // ou qui y est entrée pendant est donc supposée déjà en base ; l'erreur possible va dans l'autre sens
+    // (quelques places de trop en mémoire), que l'UPDATE conditionnel rattrape.
+    @Scheduled(fixedDelayString = "${app.seats.reconcile-interval:5000}")
+    public void reconcile() {
+        for (Long eventId : seatsByEvent.asMap().keySet()) {
+            Seats seats = seatsByEvent.getIfPresent(eventId);
+            if (seats == null) {
+                continue;
+            }
+            // ordre de lecture important : committed, puis committing, puis pending
+            long committedBefore = seats.committed.get();
+            int committing = seats.committing.get();
+            int pending = seats.pending.get();
+            SeatState state = eventRepository.findSeatState(eventId).orElse(null);
+            if (state == null || state.capacite() == null) {
+                seatsByEvent.invalidate(eventId);
+                continue;
+            }
+            long maybeInDatabase = committing + (seats.committed.get() - committedBefore);
+            long notInDatabase = Math.max(0, pending - maybeInDatabase);
+            seats.remaining.set((int) Math.max(0, state.remaining() - notInDatabase));
+        }
+    }
+
+    // les événements créés avant l'ajout du compteur ont 0 inscrit en base
+    @EventListener(ApplicationReadyEvent.class)
+    public void recount() {
+        int events = eventRepository.recountSeats();
+        log.debug("Compteurs de places recalculés pour {} événements", events);
+    }
+
+    // Lecture hors du verrou du cache, comme EventCache.findById : avec get(id, load), les requêtes qui détiennent
+    // déjà une connexion (open-in-view) attendaient le chargement d'une autre requête, elle-même en attente
+    // d'une connexion libre ; le pool entier pouvait rester bloqué jusqu'au délai de Hikari.
+    // Deux chargements simultanés donnent la même valeur, le premier enregistré est gardé.
+    private Seats seats(Long eventId) {
+        Seats seats = seatsByEvent.getIfPresent(eventId);
+        if (seats != null) {
+            return seats;
+        }
+        Seats loaded = load(eventId);
+        if (loaded == null) {
+            return null;
+        }
+        Seats previous = seatsByEvent.asMap().putIfAbsent(eventId, loaded);
+        return previous != null ? previous : loaded;
+    }
+
+    private Seats load(Long eventId) {
+        return eventRepository.findSeatState(eventId)
+                .filter(state -> state.capacite() != null)
+                .map(state -> new Seats(Math.max(0, state.remaining())))
+                .orElse(null);
+    }
+}
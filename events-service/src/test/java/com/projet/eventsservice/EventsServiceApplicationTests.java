@@ -1,13 +1,26 @@
 package com.projet.eventsservice;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
 
 @SpringBootTest
 class EventsServiceApplicationTests {
 
+	@Autowired
+	private ApplicationContext context;
+
 	@Test
 	void contextLoads() {
 	}
 
+	// aucun Executor déclaré par l'application : Spring MVC garde le pool auto-configuré pour ses réponses asynchrones
+	@Test
+	void asyncRequestsKeepTheAutoConfiguredExecutor() {
+		assertThat(context.containsBean("applicationTaskExecutor")).isTrue();
+	}
+
 }
@@ -0,0 +1,51 @@
+package com.projet.eventsservice;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Base existante créée sans la contrainte et contenant des doublons : au démarrage, ils sont supprimés
+// et la contrainte existe ensuite réellement.
+@DataJpaTest
+@Import(RegistrationConstraintInitializer.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RegistrationConstraintInitializerTest {
+
+    @Autowired
+    private RegistrationConstraintInitializer initializer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void removesDuplicatesAndCreatesMissingConstraint() {
+        assertThat(initializer.constraintExists()).isTrue();
+
+        jdbcTemplate.execute("alter table registrations drop constraint " + RegistrationConstraintInitializer.CONSTRAINT_NAME);
+        jdbcTemplate.update("insert into registrations (event_id, participant_id, statut) values (1, 10, 'INSCRIT')");
+        jdbcTemplate.update("insert into registrations (event_id, participant_id, statut) values (1, 10, 'ANNULE')");
+        jdbcTemplate.update("insert into registrations (event_id, participant_id, statut) values (1, 11, 'INSCRIT')");
+        jdbcTemplate.update("insert into registrations (event_id, participant_id, statut) values (2, 10, 'INSCRIT')");
+        assertThat(initializer.constraintExists()).isFalse();
+
+        initializer.ensureUniqueRegistrations();
+
+        assertThat(initializer.constraintExists()).isTrue();
+        assertThat(jdbcTemplate.queryForList("select statut from registrations where event_id = 1 and participant_id = 10",
+                String.class)).containsExactly("INSCRIT");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from registrations", Integer.class)).isEqualTo(3);
+        assertThatThrownBy(() -> jdbcTemplate.update(
+                "insert into registrations (event_id, participant_id, statut) values (2, 10, 'INSCRIT')"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        jdbcTemplate.update("delete from registrations");
+    }
+}
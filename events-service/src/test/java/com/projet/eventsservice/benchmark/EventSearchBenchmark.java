@@ -0,0 +1,135 @@
+package com.projet.eventsservice.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.projet.eventsservice.model.Event;
+import com.projet.eventsservice.repository.EventRepository;
+import com.projet.eventsservice.repository.EventSpecifications;
+
+// Compare l'ancienne recherche (findAll + filtre en mémoire) à la recherche par Specifications.
+// Lancement : mvn test -Pbenchmark
+@Tag("benchmark")
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+class EventSearchBenchmark {
+
+    private static final int NB_EVENTS = 20_000;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    private static final String[] VILLES = { "Paris", "Lyon", "Marseille", "Lille", "Nantes", "Bordeaux" };
+    private static final String[] TYPES = { "conférence", "formation", "concert", "atelier" };
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void seed() {
+        List<Event> events = new ArrayList<>(NB_EVENTS);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < NB_EVENTS; i++) {
+            Event e = new Event();
+            e.setTitre("Evénement " + i + (i % 50 == 0 ? " Java" : ""));
+            e.setLieu(VILLES[i % VILLES.length]);
+            e.setType(TYPES[i % TYPES.length]);
+            e.setDateDebut(base.plusHours(i));
+            e.setDateFin(base.plusHours(i + 2));
+            events.add(e);
+        }
+        eventRepository.saveAll(events);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void searchFullScanVsSpecification() {
+        String keyword = "java";
+        String lieu = "lyon";
+        String dateDebut = "2025-03-01T00:00";
+        String dateFin = "2026-01-01T00:00";
+
+        Supplier<List<Event>> fullScan = () -> legacySearch(keyword, lieu, null, dateDebut, dateFin);
+        Supplier<List<Event>> specification = () -> eventRepository.findAll(
+                Specification.where(EventSpecifications.titreContient(keyword))
+                        .and(EventSpecifications.lieuContient(lieu))
+                        .and(EventSpecifications.commenceApres(LocalDateTime.parse(dateDebut)))
+                        .and(EventSpecifications.termineAvant(LocalDateTime.parse(dateFin))),
+                Sort.by("id"));
+
+        assertThat(specification.get()).extracting(Event::getId)
+                .containsExactlyElementsOf(fullScan.get().stream().map(Event::getId).sorted().toList());
+
+        double fullScanMs = measure(fullScan);
+        double specificationMs = measure(specification);
+
+        System.out.printf("[bench] recherche sur %d événements : full-scan %.2f ms/op, specification %.2f ms/op (x%.1f)%n",
+                NB_EVENTS, fullScanMs, specificationMs, fullScanMs / specificationMs);
+    }
+
+    private double measure(Supplier<List<Event>> search) {
+        for (int i = 0; i < WARMUP; i++) {
+            search.get();
+            entityManager.clear();
+        }
+        long total = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            search.get();
+            total += System.nanoTime() - start;
+            entityManager.clear();
+        }
+        return total / 1_000_000.0 / ITERATIONS;
+    }
+
+    // reproduction de l'implémentation d'origine de EventController.search
+    private List<Event> legacySearch(String keyword, String lieu, String type, String dateDebut, String dateFin) {
+        return eventRepository.findAll().stream()
+                .filter(e -> {
+                    if (keyword != null && !keyword.isBlank()) {
+                        if (e.getTitre() == null || !e.getTitre().toLowerCase().contains(keyword.toLowerCase())) {
+                            return false;
+                        }
+                    }
+                    if (lieu != null && !lieu.isBlank()) {
+                        if (e.getLieu() == null || !e.getLieu().toLowerCase().contains(lieu.toLowerCase())) {
+                            return false;
+                        }
+                    }
+                    if (type != null && !type.isBlank()) {
+                        if (e.getType() == null || !e.getType().toLowerCase().contains(type.toLowerCase())) {
+                            return false;
+                        }
+                    }
+                    if (dateDebut != null && !dateDebut.isBlank()) {
+                        var start = LocalDateTime.parse(dateDebut);
+                        if (e.getDateDebut() == null || e.getDateDebut().isBefore(start)) {
+                            return false;
+                        }
+                    }
+                    if (dateFin != null && !dateFin.isBlank()) {
+                        var end = LocalDateTime.parse(dateFin);
+                        if (e.getDateFin() == null || e.getDateFin().isAfter(end)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                })
+                .toList();
+    }
+}
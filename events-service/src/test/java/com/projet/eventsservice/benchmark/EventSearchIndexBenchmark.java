@@ -0,0 +1,70 @@
+package com.projet.eventsservice.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.projet.eventsservice.model.Event;
+import com.projet.eventsservice.repository.EventRepository;
+import com.projet.eventsservice.service.EventSearchIndex;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Latence des requêtes plein texte sur l'index en mémoire.
+// Lancement : mvn test -Pbenchmark
+@Tag("benchmark")
+class EventSearchIndexBenchmark {
+
+    private static final int NB_EVENTS = 50_000;
+    private static final int ITERATIONS = 10_000;
+
+    private static final String[] VILLES = { "Paris", "Lyon", "Marseille", "Lille", "Nantes", "Bordeaux" };
+    private static final String[] TYPES = { "conférence", "formation", "concert", "atelier" };
+    private static final String[] SUJETS = { "Java", "Angular", "Spring", "Kubernetes", "Jazz", "Photographie" };
+
+    @Test
+    void keywordQueries() {
+        List<Event> events = new ArrayList<>(NB_EVENTS);
+        for (int i = 0; i < NB_EVENTS; i++) {
+            Event e = new Event();
+            e.setId((long) i + 1);
+            e.setTitre(SUJETS[i % SUJETS.length] + " édition " + i);
+            e.setLieu(VILLES[i % VILLES.length]);
+            e.setType(TYPES[i % TYPES.length]);
+            events.add(e);
+        }
+        EventRepository repository = mock(EventRepository.class);
+        when(repository.findAll()).thenReturn(events);
+
+        EventSearchIndex index = new EventSearchIndex(repository, new SimpleMeterRegistry());
+        long buildStart = System.nanoTime();
+        index.rebuild();
+        double buildMs = (System.nanoTime() - buildStart) / 1_000_000.0;
+
+        assertThat(index.search("conference paris", 20)).isNotEmpty();
+
+        // requêtes sélectives (quelques dizaines de résultats) puis larges (un quart du catalogue)
+        String[] queries = { "édition 4242", "java lyon 12", "kube nantes 499", "conférence", "jazz" };
+        StringBuilder report = new StringBuilder();
+        for (String query : queries) {
+            for (int i = 0; i < ITERATIONS; i++) {
+                index.search(query, 20);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                index.search(query, 20);
+            }
+            double usPerQuery = (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+            report.append(String.format("  \"%s\" : %.1f µs%n", query, usPerQuery));
+        }
+
+        System.out.printf("[bench] index de %d événements : construction %.0f ms, %d trigrammes, ~%d Ko%n%s",
+                index.size(), buildMs, index.termCount(), index.estimatedMemoryBytes() / 1024, report);
+    }
+}
@@ -0,0 +1,114 @@
+package com.projet.eventsservice.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.projet.eventsservice.service.FileStorage;
+
+// Affichages répétés d'une page avec ses affiches (GET /api/files/{nom}) : sans validateurs (tout est renvoyé
+// à chaque fois), avec revalidation If-None-Match (304 sans corps) et avec Cache-Control immutable
+// (le navigateur ne redemande plus rien). Mesure les octets reçus et la latence par requête.
+// Lancement : mvn test -Pbenchmark -Dtest=FileCachingBenchmark
+//   -Dbench.files=20 -Dbench.file-kb=512 -Dbench.views=50
+@Tag("benchmark")
+class FileCachingBenchmark {
+
+    private final int files = Integer.getInteger("bench.files", 20);
+    private final int fileKb = Integer.getInteger("bench.file-kb", 512);
+    private final int views = Integer.getInteger("bench.views", 50);
+
+    record Result(long requests, long bytes, double meanMs, double p95Ms) {
+
+        @Override
+        public String toString() {
+            return String.format("%d requêtes, %.1f Mo reçus, moyenne %.2f ms, p95 %.2f ms",
+                    requests, bytes / 1e6, meanMs, p95Ms);
+        }
+    }
+
+    @Test
+    void repeatedPosterLoads() throws Exception {
+        try (StubServices stubs = new StubServices(Duration.ZERO, Duration.ZERO);
+                LocalEventsService service = LocalEventsService.start(stubs, "bench-files", Map.of(
+                        "app.upload.dir", "target/bench-files-" + System.nanoTime()))) {
+            FileStorage storage = service.getBean(FileStorage.class);
+            Random random = new Random(42);
+            List<String> urls = new ArrayList<>();
+            for (int i = 0; i < files; i++) {
+                byte[] content = new byte[fileKb * 1024];
+                random.nextBytes(content);
+                urls.add(service.baseUrl() + FileStorage.URL_PREFIX
+                        + storage.store(new ByteArrayInputStream(content), "programme-" + i + ".pdf"));
+            }
+            HttpClient client = HttpClient.newHttpClient();
+
+            System.out.printf("[bench] %d affichages d'une page de %d fichiers de %d Ko%n", views, files, fileKb);
+
+            // premier affichage : cache vide, validateurs récupérés
+            Map<String, String> etags = new HashMap<>();
+            for (String url : urls) {
+                HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(url)).build(),
+                        HttpResponse.BodyHandlers.ofByteArray());
+                assertThat(response.statusCode()).isEqualTo(200);
+                assertThat(response.headers().firstValue("Cache-Control")).hasValueSatisfying(v -> assertThat(v).contains("immutable"));
+                assertThat(response.headers().firstValue("Last-Modified")).isPresent();
+                etags.put(url, response.headers().firstValue("ETag").orElseThrow());
+            }
+
+            // sans validateurs : chaque affichage retélécharge tout (comportement précédent)
+            Result full = load(client, urls, Map.of(), 200);
+            // revalidation : le navigateur renvoie l'ETag, le serveur répond 304 sans corps
+            Result revalidated = load(client, urls, etags, 304);
+
+            System.out.printf("[bench] sans validateurs  : %s%n", full);
+            System.out.printf("[bench] If-None-Match     : %s%n", revalidated);
+            System.out.printf("[bench] immutable         : 0 requête après le premier affichage (%d évitées, %.1f Mo)%n",
+                    full.requests(), full.bytes() / 1e6);
+            System.out.printf("[bench] octets économisés par la revalidation : %.1f %%, latence moyenne x%.1f%n",
+                    100.0 * (full.bytes() - revalidated.bytes()) / full.bytes(), full.meanMs() / revalidated.meanMs());
+
+            assertThat(revalidated.bytes()).isZero();
+            assertThat(full.bytes()).isEqualTo((long) views * files * fileKb * 1024);
+        }
+    }
+
+    private Result load(HttpClient client, List<String> urls, Map<String, String> etags, int expectedStatus)
+            throws Exception {
+        long[] latencies = new long[views * urls.size()];
+        long bytes = 0;
+        int n = 0;
+        for (int view = 0; view < views; view++) {
+            for (String url : urls) {
+                HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url));
+                String etag = etags.get(url);
+                if (etag != null) {
+                    request.header("If-None-Match", etag);
+                }
+                long start = System.nanoTime();
+                HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+                latencies[n++] = System.nanoTime() - start;
+                assertThat(response.statusCode()).isEqualTo(expectedStatus);
+                bytes += response.body().length;
+            }
+        }
+        Arrays.sort(latencies);
+        double mean = Arrays.stream(latencies).average().orElse(0) / 1e6;
+        double p95 = latencies[(int) Math.min(latencies.length - 1, Math.ceil(latencies.length * 0.95) - 1)] / 1e6;
+        return new Result(latencies.length, bytes, mean, p95);
+    }
+}
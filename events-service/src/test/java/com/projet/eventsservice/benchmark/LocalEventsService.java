@@ -0,0 +1,73 @@
+package com.projet.eventsservice.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.projet.eventsservice.EventsServiceApplication;
+import com.projet.eventsservice.model.Event;
+import com.projet.eventsservice.repository.EventRepository;
+
+// events-service complet (Tomcat sur un port libre, H2 en mémoire) branché sur les bouchons de StubServices
+final class LocalEventsService implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private LocalEventsService(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    // overrides : propriétés supplémentaires, prioritaires sur application.properties
+    static LocalEventsService start(StubServices stubs, String databaseName, Map<String, String> overrides) {
+        List<String> args = new ArrayList<>(stubs.discoveryArgs());
+        args.addAll(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.devtools.restart.enabled=false",
+                "--logging.level.root=WARN"));
+        overrides.forEach((key, value) -> args.add("--" + key + "=" + value));
+        return new LocalEventsService(new SpringApplicationBuilder(EventsServiceApplication.class)
+                .run(args.toArray(String[]::new)));
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    // événements avec organisateur : chaque inscription déclenche aussi le message à l'organisateur
+    List<Long> createEvents(int count) {
+        return createEvents(count, null);
+    }
+
+    // capacite : nombre de places de chaque événement, null = illimité
+    List<Long> createEvents(int count, Integer capacite) {
+        EventRepository repository = context.getBean(EventRepository.class);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Event event = new Event();
+            event.setTitre("Événement de charge " + i);
+            event.setLieu("Paris");
+            event.setType("conférence");
+            event.setOrganisateurId(1L + i);
+            event.setCapacite(capacite);
+            event.setDateDebut(LocalDateTime.now().plusDays(30 + i));
+            event.setDateFin(LocalDateTime.now().plusDays(30 + i).plusHours(2));
+            ids.add(repository.save(event).getId());
+        }
+        return ids;
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,60 @@
+package com.projet.eventsservice.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+// Charge de bout en bout sur POST /api/registrations : contrôle de doublon, lecture de l'événement,
+// appel à auth-service, enregistrement + outbox, puis livraison des deux notifications à notifications-service.
+// Les deux services distants sont remplacés par des bouchons locaux avec latence injectée : rien d'autre à démarrer.
+// Lancement : mvn test -Pbenchmark -Dtest=RegistrationFlowBenchmark
+//   -Dbench.concurrency=50 -Dbench.duration=20 -Dbench.warmup=5 -Dbench.events=10
+//   -Dbench.auth-latency-ms=20 -Dbench.notifications-latency-ms=10
+@Tag("benchmark")
+class RegistrationFlowBenchmark {
+
+    private final int concurrency = Integer.getInteger("bench.concurrency", 50);
+    private final Duration duration = Duration.ofSeconds(Integer.getInteger("bench.duration", 20));
+    private final Duration warmup = Duration.ofSeconds(Integer.getInteger("bench.warmup", 5));
+    private final int events = Integer.getInteger("bench.events", 10);
+    private final Duration authLatency = Duration.ofMillis(Integer.getInteger("bench.auth-latency-ms", 20));
+    private final Duration notificationsLatency = Duration.ofMillis(Integer.getInteger("bench.notifications-latency-ms", 10));
+    private final Duration drainTimeout = Duration.ofSeconds(Integer.getInteger("bench.drain-timeout", 60));
+
+    @Test
+    void registrationFlow() throws Exception {
+        AtomicLong participantIds = new AtomicLong(1_000);
+
+        try (StubServices stubs = new StubServices(authLatency, notificationsLatency);
+                LocalEventsService service = LocalEventsService.start(stubs, "bench-registration", Map.of(
+                        "app.http.max-connections-per-route", String.valueOf(Math.max(50, concurrency))))) {
+            List<Long> eventIds = service.createEvents(events);
+
+            System.out.printf("[bench] inscriptions : %d clients, %d événements, auth +%d ms, notifications +%d ms%n",
+                    concurrency, events, authLatency.toMillis(), notificationsLatency.toMillis());
+
+            RegistrationLoad.Result warm = RegistrationLoad.run(service.baseUrl(), eventIds, concurrency, warmup, participantIds);
+            RegistrationLoad.Result result = RegistrationLoad.run(service.baseUrl(), eventIds, concurrency, duration, participantIds);
+            System.out.printf("[bench] %s%n", result);
+
+            // chaque inscription produit deux notifications (participant + organisateur), livrées par l'outbox
+            long expected = 2 * (warm.requests() - warm.errors() + result.requests() - result.errors());
+            long drainStart = System.nanoTime();
+            long deadline = drainStart + drainTimeout.toNanos();
+            while (stubs.notificationsReceived() < expected && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            System.out.printf("[bench] notifications livrées : %d / %d, file vidée %.1f s après la fin de la charge ; appels auth-service : %d%n",
+                    stubs.notificationsReceived(), expected, (System.nanoTime() - drainStart) / 1e9, stubs.userLookups());
+
+            assertThat(result.errors()).isZero();
+            assertThat(stubs.notificationsReceived()).isEqualTo(expected);
+        }
+    }
+}
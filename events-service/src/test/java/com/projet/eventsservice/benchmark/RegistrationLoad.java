@@ -0,0 +1,108 @@
+package com.projet.eventsservice.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Charge concurrente sur POST /api/registrations : chaque requête inscrit un participant jamais vu
+// (pas de doublon, pas de succès de cache utilisateur) à l'un des événements donnés, à tour de rôle.
+final class RegistrationLoad {
+
+    record Result(long requests, long errors, double seconds, double throughput,
+            double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs) {
+
+        @Override
+        public String toString() {
+            return String.format("%d requêtes (%d erreurs) en %.1f s : %.0f req/s, p50 %.1f ms, p90 %.1f ms, p99 %.1f ms, p99.9 %.1f ms, max %.1f ms",
+                    requests, errors, seconds, throughput, p50Ms, p90Ms, p99Ms, p999Ms, maxMs);
+        }
+    }
+
+    private RegistrationLoad() {
+    }
+
+    static Result run(String baseUrl, List<Long> eventIds, int concurrency, Duration duration, AtomicLong participantIds)
+            throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+        URI uri = URI.create(baseUrl + "/api/registrations");
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long[][] latencies = new long[concurrency][];
+        long[] counts = new long[concurrency];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        for (int w = 0; w < concurrency; w++) {
+            int worker = w;
+            workers.execute(() -> {
+                long[] samples = new long[1024];
+                int n = 0;
+                try {
+                    while (System.nanoTime() < deadline) {
+                        long participantId = participantIds.incrementAndGet();
+                        long eventId = eventIds.get((int) (participantId % eventIds.size()));
+                        String body = "{\"eventId\":" + eventId + ",\"participantId\":" + participantId + "}";
+                        HttpRequest request = HttpRequest.newBuilder(uri)
+                                .timeout(Duration.ofSeconds(30))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build();
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (n == samples.length) {
+                            samples = Arrays.copyOf(samples, n * 2);
+                        }
+                        samples[n++] = System.nanoTime() - t0;
+                    }
+                } finally {
+                    latencies[worker] = samples;
+                    counts[worker] = n;
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        workers.shutdown();
+
+        long total = Arrays.stream(counts).sum();
+        long[] all = new long[(int) total];
+        int pos = 0;
+        for (int w = 0; w < concurrency; w++) {
+            System.arraycopy(latencies[w], 0, all, pos, (int) counts[w]);
+            pos += (int) counts[w];
+        }
+        Arrays.sort(all);
+        return new Result(total, errors.get(), seconds, total / seconds,
+                percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99), percentile(all, 0.999),
+                all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
@@ -0,0 +1,104 @@
+package com.projet.eventsservice.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.projet.eventsservice.dto.SeatState;
+import com.projet.eventsservice.model.Registration;
+import com.projet.eventsservice.repository.EventRepository;
+import com.projet.eventsservice.repository.RegistrationRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Ouverture des inscriptions d'un événement très demandé : beaucoup plus de demandes que de places,
+// toutes sur le même événement, et chaque participant envoie sa demande deux fois en parallèle.
+// Vérifie qu'aucune place n'est vendue en trop ni aucun doublon enregistré, et mesure débit et latences.
+// Lancement : mvn test -Pbenchmark -Dtest=SeatContentionBenchmark
+//   -Dbench.capacity=500 -Dbench.requests=10000 -Dbench.concurrency=200
+@Tag("benchmark")
+class SeatContentionBenchmark {
+
+    private final int capacity = Integer.getInteger("bench.capacity", 500);
+    private final int requests = Integer.getInteger("bench.requests", 10_000);
+    private final int concurrency = Integer.getInteger("bench.concurrency", 200);
+
+    @Test
+    void hotEventRegistrationOpening() throws Exception {
+        try (StubServices stubs = new StubServices(Duration.ZERO, Duration.ZERO);
+                LocalEventsService service = LocalEventsService.start(stubs, "bench-seats", Map.of(
+                        "app.http.max-connections-per-route", String.valueOf(concurrency),
+                        // les doublons simultanés sont attendus : pas de trace par violation de contrainte
+                        "logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper", "OFF"))) {
+            long eventId = service.createEvents(1, capacity).get(0);
+
+            HttpClient client = HttpClient.newBuilder().executor(Executors.newFixedThreadPool(4)).build();
+            URI uri = URI.create(service.baseUrl() + "/api/registrations");
+            Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+            long[] latencies = new long[requests];
+            AtomicInteger next = new AtomicInteger();
+
+            ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+            long start = System.nanoTime();
+            for (int w = 0; w < concurrency; w++) {
+                workers.execute(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requests) {
+                        // deux demandes consécutives pour le même participant
+                        long participantId = 10_000 + i / 2;
+                        HttpRequest request = HttpRequest.newBuilder(uri)
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(
+                                        "{\"eventId\":" + eventId + ",\"participantId\":" + participantId + "}"))
+                                .build();
+                        long t0 = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        latencies[i] = System.nanoTime() - t0;
+                        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+                    }
+                });
+            }
+            workers.shutdown();
+            assertThat(workers.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            MeterRegistry meters = service.getBean(MeterRegistry.class);
+            System.out.printf("[bench] %d demandes pour %d places (%d clients) en %.1f s : %.0f req/s, p50 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                    requests, capacity, concurrency, seconds, requests / seconds,
+                    latencies[requests / 2] / 1e6, latencies[(int) (requests * 0.99)] / 1e6, latencies[requests - 1] / 1e6);
+            System.out.printf("[bench] statuts : %s ; refus \"complet\" en mémoire : %.0f, par la base : %.0f%n", statuses,
+                    meters.counter("events.seats.rejected", "source", "memory").count(),
+                    meters.counter("events.seats.rejected", "source", "database").count());
+
+            List<Registration> registrations = service.getBean(RegistrationRepository.class).findByEventId(eventId);
+            SeatState seats = service.getBean(EventRepository.class).findSeatState(eventId).orElseThrow();
+            assertThat(registrations).hasSize(capacity);
+            assertThat(registrations.stream().map(Registration::getParticipantId).distinct().count()).isEqualTo(capacity);
+            assertThat(seats.inscrits()).isEqualTo(capacity);
+            assertThat(statuses.get(200).sum()).isEqualTo(capacity);
+            assertThat(statuses).doesNotContainKey(-1).doesNotContainKey(500);
+        }
+    }
+}
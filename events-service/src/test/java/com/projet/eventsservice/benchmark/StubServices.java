@@ -0,0 +1,135 @@
+package com.projet.eventsservice.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// Faux auth-service et notifications-service dans le processus de test, avec une latence injectée.
+// Sert de cible à la découverte simple (spring.cloud.discovery.client.simple.instances.*) pendant les benchmarks.
+final class StubServices implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Duration authLatency;
+    private final Duration notificationsLatency;
+
+    private final AtomicLong userLookups = new AtomicLong();
+    private final AtomicLong notificationsReceived = new AtomicLong();
+
+    StubServices(Duration authLatency, Duration notificationsLatency) throws IOException {
+        this.authLatency = authLatency;
+        this.notificationsLatency = notificationsLatency;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        this.server.setExecutor(executor);
+        this.server.createContext("/api/auth/users", this::handleAuth);
+        this.server.createContext("/api/notifications", this::handleNotifications);
+        this.server.start();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    // arguments à passer à l'application pour qu'elle appelle ces bouchons au lieu d'Eureka
+    List<String> discoveryArgs() {
+        return List.of(
+                "--eureka.client.enabled=false",
+                "--spring.cloud.discovery.client.simple.instances.AUTH-SERVICE[0].uri=" + baseUrl(),
+                "--spring.cloud.discovery.client.simple.instances.NOTIFICATIONS-SERVICE[0].uri=" + baseUrl());
+    }
+
+    long userLookups() {
+        return userLookups.get();
+    }
+
+    long notificationsReceived() {
+        return notificationsReceived.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleAuth(HttpExchange exchange) throws IOException {
+        pause(authLatency);
+        String path = exchange.getRequestURI().getPath();
+        String suffix = path.substring("/api/auth/users".length());
+
+        if (suffix.equals("/participants")) {
+            respond(exchange, 200, "[]");
+        } else if (suffix.equals("/batch")) {
+            JsonNode ids = read(exchange.getRequestBody());
+            List<String> users = new ArrayList<>();
+            ids.forEach(id -> users.add(user(id.asLong())));
+            userLookups.addAndGet(users.size());
+            respond(exchange, 200, "[" + String.join(",", users) + "]");
+        } else if (suffix.matches("/\\d+")) {
+            userLookups.incrementAndGet();
+            respond(exchange, 200, user(Long.parseLong(suffix.substring(1))));
+        } else {
+            respond(exchange, 404, "");
+        }
+    }
+
+    private void handleNotifications(HttpExchange exchange) throws IOException {
+        pause(notificationsLatency);
+        String path = exchange.getRequestURI().getPath();
+        if (path.endsWith("/batch")) {
+            int count = read(exchange.getRequestBody()).size();
+            notificationsReceived.addAndGet(count);
+            respond(exchange, 200, "{\"created\":" + count + "}");
+        } else {
+            exchange.getRequestBody().readAllBytes();
+            notificationsReceived.incrementAndGet();
+            respond(exchange, 200, "{}");
+        }
+    }
+
+    private static String user(long id) {
+        return "{\"id\":" + id + ",\"email\":\"user" + id + "@bench.local\",\"fullName\":\"Participant " + id
+                + "\",\"role\":\"PARTICIPANT\"}";
+    }
+
+    private static JsonNode read(InputStream body) throws IOException {
+        try (body) {
+            return MAPPER.readTree(body);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void pause(Duration latency) {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
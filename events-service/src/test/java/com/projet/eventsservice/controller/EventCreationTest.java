@@ -0,0 +1,50 @@
+package com.projet.eventsservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projet.eventsservice.repository.OutboxRepository;
+import com.projet.eventsservice.service.NewEventNotifier;
+
+// La diffusion "nouvel événement" est écrite dans l'outbox par la requête de création elle-même.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:event-creation;DB_CLOSE_DELAY=-1",
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false",
+        "app.outbox.poll-interval=3600000"
+})
+@AutoConfigureMockMvc
+class EventCreationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void createWritesTheDiffusionRowWithTheEvent() throws Exception {
+        String body = mvc.perform(post("/api/events").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"titre\":\"Salon\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long eventId = objectMapper.readTree(body).get("id").asLong();
+
+        assertThat(outboxRepository.findAll())
+                .filteredOn(msg -> NewEventNotifier.DIFFUSION_TYPE.equals(msg.getType()))
+                .singleElement()
+                .satisfies(msg -> assertThat(msg.getEventId()).isEqualTo(eventId));
+    }
+}
@@ -0,0 +1,217 @@
+package com.projet.eventsservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projet.eventsservice.model.Event;
+import com.projet.eventsservice.model.Registration;
+import com.projet.eventsservice.repository.EventRepository;
+import com.projet.eventsservice.repository.RegistrationRepository;
+
+// Le nombre d'inscrits fait partie de GET /api/events/{id} : une inscription ou une désinscription
+// doit changer la réponse et son ETag, même si l'événement était en cache.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:event-seats;DB_CLOSE_DELAY=-1",
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class EventSeatsTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long event(String titre, Integer capacite) {
+        Event event = new Event();
+        event.setTitre(titre);
+        event.setCapacite(capacite);
+        return eventRepository.save(event).getId();
+    }
+
+    private void register(Long eventId, long participantId, int expectedStatus) throws Exception {
+        mvc.perform(post("/api/registrations").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"eventId\":" + eventId + ",\"participantId\":" + participantId + "}"))
+                .andExpect(status().is(expectedStatus));
+    }
+
+    private int inscrits(Long eventId) {
+        return eventRepository.findSeatState(eventId).orElseThrow().inscrits();
+    }
+
+    @Test
+    void registrationChangesSeatCountAndEtag() throws Exception {
+        Event event = new Event();
+        event.setTitre("Atelier");
+        event.setCapacite(10);
+        Long id = eventRepository.save(event).getId();
+
+        String before = mvc.perform(get("/api/events/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inscrits").value(0))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String body = mvc.perform(post("/api/registrations").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"eventId\":" + id + ",\"participantId\":1}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode registration = objectMapper.readTree(body);
+
+        String afterRegister = mvc.perform(get("/api/events/{id}", id).header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inscrits").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(afterRegister).isNotEqualTo(before);
+
+        mvc.perform(delete("/api/registrations/{id}", registration.get("id").asLong()))
+                .andExpect(status().isNoContent());
+
+        String afterUnregister = mvc.perform(get("/api/events/{id}", id).header(HttpHeaders.IF_NONE_MATCH, afterRegister))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inscrits").value(0))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(afterUnregister).isNotEqualTo(afterRegister);
+
+        mvc.perform(get("/api/events/{id}", id).header(HttpHeaders.IF_NONE_MATCH, afterUnregister))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void updateAfterRegistrationKeepsSeatCount() throws Exception {
+        Event event = new Event();
+        event.setTitre("Conférence");
+        event.setCapacite(5);
+        Long id = eventRepository.save(event).getId();
+
+        mvc.perform(post("/api/registrations").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"eventId\":" + id + ",\"participantId\":2}"))
+                .andExpect(status().isOk());
+
+        mvc.perform(put("/api/events/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"titre\":\"Conférence (salle B)\",\"capacite\":5}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.titre").value("Conférence (salle B)"));
+
+        assertThat(eventRepository.findSeatState(id)).hasValueSatisfying(s -> assertThat(s.inscrits()).isEqualTo(1));
+    }
+
+    @Test
+    void refusedRegistrationFreesItsSeat() throws Exception {
+        Long id = event("Masterclass", 1);
+        register(id, 10, 200);
+        register(id, 11, 409);
+
+        mvc.perform(patch("/api/registrations/event/{eventId}/participant/{participantId}/statut", id, 10)
+                        .param("statut", "refusee"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statut").value("REFUSEE"));
+        assertThat(inscrits(id)).isZero();
+        mvc.perform(get("/api/events/{id}", id)).andExpect(jsonPath("$.inscrits").value(0));
+
+        // refuser de nouveau ne rend pas une deuxième place
+        mvc.perform(patch("/api/registrations/event/{eventId}/participant/{participantId}/statut", id, 10)
+                        .param("statut", "REFUSEE"))
+                .andExpect(status().isOk());
+        assertThat(inscrits(id)).isZero();
+
+        register(id, 11, 200);
+        assertThat(inscrits(id)).isEqualTo(1);
+
+        // plus de place pour revenir sur le refus
+        mvc.perform(patch("/api/registrations/event/{eventId}/participant/{participantId}/statut", id, 10)
+                        .param("statut", "ACCEPTEE"))
+                .andExpect(status().isConflict());
+        assertThat(registrationRepository.findByEventIdAndParticipantId(id, 10L))
+                .hasValueSatisfying(r -> assertThat(r.getStatut()).isEqualTo("REFUSEE"));
+    }
+
+    @Test
+    void bulkRefusalFreesSeatsAndBulkAcceptanceTakesThemBack() throws Exception {
+        Long id = event("Séminaire", 3);
+        register(id, 20, 200);
+        register(id, 21, 200);
+        register(id, 22, 200);
+
+        String refuse = "{\"participantIds\":[20,21],\"statut\":\"REFUSEE\"}";
+        mvc.perform(patch("/api/registrations/event/{eventId}/statut", id).contentType(MediaType.APPLICATION_JSON).content(refuse))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+        assertThat(inscrits(id)).isEqualTo(1);
+
+        mvc.perform(patch("/api/registrations/event/{eventId}/statut", id).contentType(MediaType.APPLICATION_JSON).content(refuse))
+                .andExpect(status().isOk());
+        assertThat(inscrits(id)).isEqualTo(1);
+
+        register(id, 23, 200);
+        // une seule place pour deux refus annulés : rien n'est modifié
+        mvc.perform(patch("/api/registrations/event/{eventId}/statut", id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"participantIds\":[20,21],\"statut\":\"ACCEPTEE\"}"))
+                .andExpect(status().isConflict());
+        assertThat(inscrits(id)).isEqualTo(2);
+
+        mvc.perform(patch("/api/registrations/event/{eventId}/statut", id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"participantIds\":[20],\"statut\":\"ACCEPTEE\"}"))
+                .andExpect(status().isOk());
+        assertThat(inscrits(id)).isEqualTo(3);
+        register(id, 24, 409);
+    }
+
+    @Test
+    void recountIgnoresRefusedRegistrations() {
+        Long id = event("Forum", 10);
+        String[] statuts = { "INSCRIT", "ACCEPTEE", "REFUSEE", null };
+        for (int i = 0; i < statuts.length; i++) {
+            Registration registration = new Registration();
+            registration.setEventId(id);
+            registration.setParticipantId(30L + i);
+            registration.setStatut(statuts[i]);
+            registration.setDateInscription(LocalDateTime.now());
+            registrationRepository.save(registration);
+        }
+
+        eventRepository.recountSeats();
+
+        assertThat(inscrits(id)).isEqualTo(3);
+    }
+
+    @Test
+    void seatChangesBumpAMissingVersion() throws Exception {
+        Long id = event("Table ronde", 5);
+        // ligne antérieure à la colonne version
+        jdbcTemplate.update("update events set version = null where id = ?", id);
+
+        register(id, 40, 200);
+
+        assertThat(eventRepository.findById(id).orElseThrow().getVersion()).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,251 @@
+package com.projet.eventsservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.projet.eventsservice.repository.EventRepository;
+import com.projet.eventsservice.service.FileStorage;
+import com.projet.eventsservice.service.ImageVariants;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// GET /api/files/{nom} : plages d'octets (Range, If-Range) et en-têtes de cache (ETag, Last-Modified, Cache-Control)
+class FileControllerTest {
+
+    private static final int LENGTH = 1000;
+
+    @TempDir
+    Path uploadDir;
+
+    private FileStorage storage;
+    private ThreadPoolTaskExecutor executor;
+    private MockMvc mvc;
+    private byte[] content;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        storage = new FileStorage(uploadDir.toString(), mock(EventRepository.class), new SimpleMeterRegistry(),
+                Duration.ofHours(24));
+        executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+        ImageVariants variants = new ImageVariants(storage, executor, new SimpleMeterRegistry(), 320, 960);
+        mvc = MockMvcBuilders.standaloneSetup(new FileController(storage, variants)).build();
+
+        content = new byte[LENGTH];
+        new Random(7).nextBytes(content);
+        url = FileStorage.URL_PREFIX + storage.store(new ByteArrayInputStream(content), "programme.pdf");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    private String etag() throws Exception {
+        return mvc.perform(get(url)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void singleRangeReturnsPartialContent() throws Exception {
+        mvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=100-199"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 100-199/1000"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 100))
+                .andExpect(content().bytes(Arrays.copyOfRange(content, 100, 200)));
+    }
+
+    @Test
+    void openEndedRangeStopsAtTheEndOfTheFile() throws Exception {
+        mvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=900-5000"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 900-999/1000"))
+                .andExpect(content().bytes(Arrays.copyOfRange(content, 900, LENGTH)));
+    }
+
+    @Test
+    void suffixRangeReturnsTheLastBytes() throws Exception {
+        mvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=-50"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 950-999/1000"))
+                .andExpect(content().bytes(Arrays.copyOfRange(content, 950, LENGTH)));
+    }
+
+    @Test
+    void rangeAfterTheEndIsNotSatisfiable() throws Exception {
+        mvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=1000-1100"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */1000"));
+    }
+
+    @Test
+    void multipleRangesReturnTheWholeFile() throws Exception {
+        MvcResult result = mvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-9,20-29"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andReturn();
+        assertThat(result.getResponse().getContentAsByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    void invalidRangeHeaderIsIgnored() throws Exception {
+        mvc.perform(get(url).header(HttpHeaders.RANGE, "octets=0-9"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(content));
+    }
+
+    @Test
+    void ifRangeMatchingTheEtagServesTheRange() throws Exception {
+        mvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, etag()))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOfRange(content, 0, 10)));
+    }
+
+    @Test
+    void ifRangeWithAnotherEtagServesTheWholeFile() throws Exception {
+        mvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, "\"autre-version\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().bytes(content));
+    }
+
+    @Test
+    void ifRangeWithAnOlderDateServesTheWholeFile() throws Exception {
+        mvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-9")
+                        .header(HttpHeaders.IF_RANGE, "Mon, 01 Jan 2001 00:00:00 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(content));
+    }
+
+    @Test
+    void ifRangeWithTheLastModifiedDateServesTheRange() throws Exception {
+        String lastModified = mvc.perform(get(url)).andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, lastModified))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOfRange(content, 0, 10)));
+    }
+
+    @Test
+    void contentAddressedFileIsImmutable() throws Exception {
+        String hash = url.substring(url.lastIndexOf('/') + 1, url.lastIndexOf('/') + 65);
+        mvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + hash + "\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=31536000")));
+    }
+
+    @Test
+    void ifNoneMatchReturnsNotModified() throws Exception {
+        mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void ifNoneMatchWithAnotherEtagReturnsTheFile() throws Exception {
+        mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"autre-version\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(content));
+    }
+
+    @Test
+    void ifModifiedSinceReturnsNotModified() throws Exception {
+        String lastModified = mvc.perform(get(url)).andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mvc.perform(get(url).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void legacyFileIsRevalidated() throws Exception {
+        Files.write(uploadDir.resolve("1700000000000_programme.pdf"), content);
+        String legacyUrl = FileStorage.URL_PREFIX + "1700000000000_programme.pdf";
+
+        MvcResult result = mvc.perform(get(legacyUrl))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, not(containsString("immutable"))))
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+
+        mvc.perform(get(legacyUrl).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void originalServedWhileTheVariantIsNotReadyIsNotImmutable() throws Exception {
+        String imageUrl = FileStorage.URL_PREFIX + storeImage(1200);
+
+        // premier appel : la miniature est demandée, l'original est servi à sa place
+        MvcResult result = mvc.perform(get(imageUrl).param("size", "thumb"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, not(containsString("immutable"))))
+                .andReturn();
+        String provisional = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // une fois prête : immuable, ETag distinct de celui de l'original et propre à la largeur configurée
+        String hash = imageUrl.substring(imageUrl.lastIndexOf('/') + 1, imageUrl.lastIndexOf('/') + 65);
+        String etag = awaitImmutable(imageUrl);
+        assertThat(etag).isEqualTo("\"" + hash + "-320w\"").isNotEqualTo(provisional);
+
+        mvc.perform(get(imageUrl).param("size", "thumb").header(HttpHeaders.IF_NONE_MATCH, provisional))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unknownSizeIsRejected() throws Exception {
+        mvc.perform(get(url).param("size", "huge"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String storeImage(int width) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, width / 2, BufferedImage.TYPE_INT_RGB), "png", out);
+        return storage.store(new ByteArrayInputStream(out.toByteArray()), "affiche.png");
+    }
+
+    private String awaitImmutable(String imageUrl) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            MvcResult result = mvc.perform(get(imageUrl).param("size", "thumb")).andReturn();
+            String cacheControl = result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL);
+            if (cacheControl != null && cacheControl.contains("immutable")) {
+                return result.getResponse().getHeader(HttpHeaders.ETAG);
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("miniature de " + imageUrl + " non créée");
+    }
+}
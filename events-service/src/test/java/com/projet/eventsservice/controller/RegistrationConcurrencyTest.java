@@ -0,0 +1,135 @@
+package com.projet.eventsservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.projet.eventsservice.model.Event;
+import com.projet.eventsservice.repository.EventRepository;
+import com.projet.eventsservice.repository.RegistrationRepository;
+import com.projet.eventsservice.service.SeatCounters;
+
+// Inscriptions concurrentes sur un événement à capacité limitée, avec recalage des compteurs en boucle :
+// jamais plus d'inscrits que de places, et jamais de "complet" tant qu'il reste une place.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:registration-concurrency;DB_CLOSE_DELAY=-1",
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false",
+        "app.seats.reconcile-interval=3600000"
+})
+class RegistrationConcurrencyTest {
+
+    private static final int CLIENTS = 32;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private SeatCounters seatCounters;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CLIENTS + 1);
+    private final AtomicLong participantIds = new AtomicLong(1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void noFalseSoldOutWhileSeatsRemain() throws Exception {
+        // autant de demandes que de places : toutes doivent aboutir
+        for (int round = 0; round < 5; round++) {
+            Long eventId = createEvent(60);
+            Map<Integer, Integer> statuses = register(eventId, 60);
+
+            assertThat(statuses).containsExactly(Map.entry(200, 60));
+            assertThat(eventRepository.findSeatState(eventId)).hasValueSatisfying(s -> assertThat(s.inscrits()).isEqualTo(60));
+        }
+    }
+
+    @Test
+    void neverMoreRegistrationsThanSeats() throws Exception {
+        Long eventId = createEvent(25);
+        Map<Integer, Integer> statuses = register(eventId, 200);
+
+        assertThat(statuses).containsEntry(200, 25).containsEntry(409, 175);
+        assertThat(registrationRepository.findByEventId(eventId)).hasSize(25);
+        assertThat(eventRepository.findSeatState(eventId)).hasValueSatisfying(s -> assertThat(s.inscrits()).isEqualTo(25));
+    }
+
+    private Long createEvent(int capacite) {
+        Event event = new Event();
+        event.setTitre("Événement complet en quelques secondes");
+        event.setCapacite(capacite);
+        return eventRepository.save(event).getId();
+    }
+
+    // requests inscriptions de participants différents, réparties sur CLIENTS threads ; nombre de réponses par statut
+    private Map<Integer, Integer> register(Long eventId, int requests) throws Exception {
+        Map<Integer, Integer> statuses = new ConcurrentHashMap<>();
+        AtomicInteger remaining = new AtomicInteger(requests);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // recalage en continu pendant la charge
+        Future<?> reconciler = executor.submit(() -> {
+            while (running.get()) {
+                seatCounters.reconcile();
+            }
+        });
+
+        List<Future<?>> clients = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.add(executor.submit(() -> {
+                start.await();
+                while (remaining.getAndDecrement() > 0) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/registrations"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    "{\"eventId\":" + eventId + ",\"participantId\":" + participantIds.getAndIncrement() + "}"))
+                            .build();
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    statuses.merge(status, 1, Integer::sum);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> c : clients) {
+                c.get();
+            }
+        } finally {
+            running.set(false);
+            reconciler.get();
+        }
+        return statuses;
+    }
+}
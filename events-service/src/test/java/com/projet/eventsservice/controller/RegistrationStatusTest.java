@@ -0,0 +1,175 @@
+package com.projet.eventsservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.projet.eventsservice.dto.UserInfo;
+import com.projet.eventsservice.model.Event;
+import com.projet.eventsservice.model.OutboxMessage;
+import com.projet.eventsservice.model.Registration;
+import com.projet.eventsservice.repository.EventRepository;
+import com.projet.eventsservice.repository.OutboxRepository;
+import com.projet.eventsservice.repository.RegistrationRepository;
+import com.projet.eventsservice.service.NotificationClient;
+import com.projet.eventsservice.service.RegistrationMessages;
+
+// Changement de statut groupé : une notification par participant et un récapitulatif nominatif pour l'organisateur,
+// dont les noms sont résolus en un seul appel à auth-service.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:registration-status;DB_CLOSE_DELAY=-1",
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false",
+        "app.outbox.poll-interval=3600000"
+})
+@AutoConfigureMockMvc
+class RegistrationStatusTest {
+
+    private static final long ORGANIZER_ID = 50L;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @MockBean
+    private NotificationClient notificationClient;
+
+    private Long eventWithRegistrations(Long... participantIds) {
+        Event event = new Event();
+        event.setTitre("Hackathon");
+        event.setCapacite(10);
+        event.setOrganisateurId(ORGANIZER_ID);
+        Long eventId = eventRepository.save(event).getId();
+        for (Long participantId : participantIds) {
+            Registration registration = new Registration();
+            registration.setEventId(eventId);
+            registration.setParticipantId(participantId);
+            registration.setStatut("INSCRIT");
+            registration.setDateInscription(LocalDateTime.now());
+            registrationRepository.save(registration);
+        }
+        return eventId;
+    }
+
+    private static UserInfo user(Long id, String fullName, String email) {
+        UserInfo user = new UserInfo();
+        user.setId(id);
+        user.setFullName(fullName);
+        user.setEmail(email);
+        return user;
+    }
+
+    private List<OutboxMessage> outbox(Long eventId) {
+        return outboxRepository.findAll().stream().filter(msg -> eventId.equals(msg.getEventId())).toList();
+    }
+
+    @Test
+    void bulkUpdateNotifiesParticipantsAndSendsOneNamedRecapToTheOrganizer() throws Exception {
+        Long eventId = eventWithRegistrations(1L, 2L);
+        when(notificationClient.fetchUsers(any())).thenReturn(Map.of(
+                1L, user(1L, "Alice Martin", "alice@example.com"),
+                2L, user(2L, "Bruno Petit", "bruno@example.com")));
+
+        mvc.perform(patch("/api/registrations/event/{eventId}/statut", eventId).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"participantIds\":[1,2,3],\"statut\":\"acceptee\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.notFound").value(1));
+
+        verify(notificationClient, times(1)).fetchUsers(any());
+        verify(notificationClient, never()).fetchUser(anyLong());
+
+        List<OutboxMessage> messages = outbox(eventId);
+        assertThat(messages).filteredOn(msg -> "INSCRIPTION_ACCEPTEE".equals(msg.getType()))
+                .extracting(OutboxMessage::getDestinataireId)
+                .containsExactlyInAnyOrder(1L, 2L);
+        assertThat(messages).filteredOn(msg -> "STATUTS_MIS_A_JOUR".equals(msg.getType()))
+                .singleElement()
+                .satisfies(msg -> {
+                    assertThat(msg.getDestinataireId()).isEqualTo(ORGANIZER_ID);
+                    assertThat(msg.getMessage()).isEqualTo("2 inscription(s) acceptée(s) pour Hackathon : "
+                            + "Alice Martin (alice@example.com), Bruno Petit (bruno@example.com).");
+                });
+    }
+
+    @Test
+    void recapOfTwentyParticipantsFitsTheMessageColumn() throws Exception {
+        Long[] ids = LongStream.rangeClosed(101, 120).boxed().toArray(Long[]::new);
+        Long eventId = eventWithRegistrations(ids);
+        Map<Long, UserInfo> users = LongStream.rangeClosed(101, 120).boxed().collect(Collectors.toMap(Function.identity(),
+                id -> user(id, "Participante Numéro " + id + " Dupont-Lefèvre", "participant." + id + "@entreprise-exemple.fr")));
+        when(notificationClient.fetchUsers(any())).thenReturn(users);
+
+        String participantIds = LongStream.rangeClosed(101, 120).mapToObj(String::valueOf).collect(Collectors.joining(","));
+        mvc.perform(patch("/api/registrations/event/{eventId}/statut", eventId).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"participantIds\":[" + participantIds + "],\"statut\":\"ACCEPTEE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(20));
+
+        assertThat(outbox(eventId)).filteredOn(msg -> "STATUTS_MIS_A_JOUR".equals(msg.getType()))
+                .singleElement()
+                .satisfies(msg -> {
+                    // bien au-delà des 255 caractères d'une colonne par défaut
+                    assertThat(msg.getMessage()).hasSizeGreaterThan(255).hasSizeLessThanOrEqualTo(2000)
+                            .contains("participant.101@entreprise-exemple.fr", "participant.120@entreprise-exemple.fr")
+                            .doesNotContain("autre(s)");
+                });
+    }
+
+    @Test
+    void recapIsCutToTheColumnSizeWhenNamesAreVeryLong() {
+        List<Long> ids = LongStream.rangeClosed(1, 20).boxed().toList();
+        Map<Long, UserInfo> users = ids.stream().collect(Collectors.toMap(Function.identity(),
+                id -> user(id, "N".repeat(150), "participant" + id + "@example.com")));
+
+        String message = RegistrationMessages.organizerDecisions("Hackathon", false, ids, users);
+
+        assertThat(message).hasSizeLessThanOrEqualTo(2000).endsWith(" autre(s).");
+        assertThat(message).contains("participant1@example.com").doesNotContain("participant20@example.com");
+    }
+
+    @Test
+    void recapFallsBackToIdsWhenAuthServiceDoesNotAnswer() throws Exception {
+        Long eventId = eventWithRegistrations(4L);
+        when(notificationClient.fetchUsers(any())).thenReturn(Map.of());
+
+        mvc.perform(patch("/api/registrations/event/{eventId}/statut", eventId).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"participantIds\":[4],\"statut\":\"REFUSEE\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(outbox(eventId)).filteredOn(msg -> "STATUTS_MIS_A_JOUR".equals(msg.getType()))
+                .singleElement()
+                .satisfies(msg -> assertThat(msg.getMessage())
+                        .isEqualTo("1 inscription(s) refusée(s) pour Hackathon : participant 4."));
+    }
+}
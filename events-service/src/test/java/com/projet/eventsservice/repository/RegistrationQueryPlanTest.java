@@ -0,0 +1,113 @@
+package com.projet.eventsservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.projet.eventsservice.model.Registration;
+
+// Vérifie, via EXPLAIN sur le SQL réellement généré par Hibernate, que les requêtes
+// sur les inscriptions passent par un index et non par un parcours complet de la table.
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.projet.eventsservice.repository.RegistrationQueryPlanTest$SqlRecorder"
+})
+class RegistrationQueryPlanTest {
+
+    private static final String EVENT_INDEX = "UK_REGISTRATIONS_EVENT_PARTICIPANT";
+    private static final String PARTICIPANT_INDEX = "IDX_REGISTRATIONS_PARTICIPANT_EVENT";
+    private static final String EVENT_STATUT_INDEX = "IDX_REGISTRATIONS_EVENT_STATUT";
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // garde le SQL préparé par Hibernate
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> statements = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        // assez de lignes pour que l'optimiseur préfère réellement un index
+        List<Registration> registrations = new ArrayList<>();
+        for (long event = 1; event <= 20; event++) {
+            for (long participant = 1; participant <= 50; participant++) {
+                Registration r = new Registration();
+                r.setEventId(event);
+                r.setParticipantId(participant);
+                r.setStatut(participant % 3 == 0 ? "REFUSEE" : "INSCRIT");
+                r.setDateInscription(LocalDateTime.now());
+                registrations.add(r);
+            }
+        }
+        registrationRepository.saveAllAndFlush(registrations);
+        SqlRecorder.statements.clear();
+    }
+
+    @Test
+    void findByEventIdUsesIndex() {
+        registrationRepository.findByEventId(3L);
+        assertPlansUse(EVENT_INDEX, EVENT_STATUT_INDEX);
+    }
+
+    @Test
+    void findByParticipantIdUsesIndex() {
+        registrationRepository.findByParticipantId(7L);
+        assertPlansUse(PARTICIPANT_INDEX);
+    }
+
+    @Test
+    void duplicateCheckUsesIndex() {
+        registrationRepository.findByEventIdAndParticipantId(3L, 7L);
+        // les deux index composites couvrent (event_id, participant_id)
+        assertPlansUse(EVENT_INDEX, PARTICIPANT_INDEX);
+    }
+
+    @Test
+    void pagedQueriesUseIndexes() {
+        registrationRepository.findSummariesByEventId(3L, PageRequest.of(1, 10, Sort.by("id")));
+        assertPlansUse(EVENT_INDEX, EVENT_STATUT_INDEX);
+
+        registrationRepository.findSummariesByParticipantId(7L, PageRequest.of(1, 5, Sort.by("id")));
+        assertPlansUse(PARTICIPANT_INDEX);
+    }
+
+    @Test
+    void statsUseIndex() {
+        registrationRepository.countByStatut(List.of(2L, 3L, 4L));
+        assertPlansUse(EVENT_STATUT_INDEX);
+    }
+
+    // chaque requête capturée (page et comptage compris) doit utiliser l'un des index attendus
+    private void assertPlansUse(String... indexNames) {
+        assertThat(SqlRecorder.statements).isNotEmpty();
+        for (String sql : SqlRecorder.statements) {
+            // les paramètres sont tous numériques (ids, offset, limite)
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql.replace("?", "1"), String.class)
+                    .toUpperCase(Locale.ROOT);
+            assertThat(plan).as(sql).doesNotContain("TABLESCAN").containsAnyOf(indexNames);
+        }
+        SqlRecorder.statements.clear();
+    }
+}
@@ -0,0 +1,107 @@
+package com.projet.eventsservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import com.projet.eventsservice.model.Event;
+import com.projet.eventsservice.repository.EventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Classement, mises à jour et compaction de l'index de recherche, sans base.
+class EventSearchIndexTest {
+
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final EventSearchIndex index = new EventSearchIndex(eventRepository, new SimpleMeterRegistry());
+
+    private static Event event(long id, String titre, String lieu, String type) {
+        Event event = new Event();
+        event.setId(id);
+        event.setTitre(titre);
+        event.setLieu(lieu);
+        event.setType(type);
+        return event;
+    }
+
+    @Test
+    void wholeWordInTitleRanksFirst() {
+        index.index(event(1L, "Meetup", "Bajava", "Soirée"));
+        index.index(event(2L, "Javascript avancé", "Lyon", "Formation"));
+        index.index(event(3L, "Conférence Java", "Paris", "Conférence"));
+        index.index(event(4L, "Atelier Python", "Paris", "Formation"));
+
+        // mot entier dans le titre > début de mot dans le titre > sous-chaîne du lieu
+        assertThat(index.search("java", 10)).containsExactly(3L, 2L, 1L);
+        assertThat(index.search("java", 2)).containsExactly(3L, 2L);
+        // tous les mots doivent être présents, accents ignorés
+        assertThat(index.search("conference paris", 10)).containsExactly(3L);
+    }
+
+    @Test
+    void updatedAndDeletedEventsLeaveTheResults() {
+        index.index(event(1L, "Conférence Java", "Paris", "Conférence"));
+        index.index(event(2L, "Atelier Java", "Lyon", "Formation"));
+
+        index.index(event(1L, "Conférence Kotlin", "Paris", "Conférence"));
+        index.remove(2L);
+
+        assertThat(index.search("java", 10)).isEmpty();
+        assertThat(index.search("kotlin", 10)).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void compactionDropsTheTrigramsOfDeletedEvents() {
+        for (long id = 1; id <= 2_000; id++) {
+            index.index(event(id, "Événement " + id, id <= 1_000 ? "Zanzibar" : "Paris", "Formation"));
+        }
+        int termsBefore = index.termCount();
+
+        for (long id = 1; id <= 1_000; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(1_000);
+        assertThat(index.termCount()).isLessThan(termsBefore);
+        assertThat(index.search("zanzibar", 10)).isEmpty();
+        assertThat(index.search("evenement 1500", 10)).containsExactly(1_500L);
+    }
+
+    @Test
+    void eventIndexedDuringARebuildIsKept() throws Exception {
+        List<Thread> writers = new ArrayList<>();
+        when(eventRepository.findAll()).thenAnswer(invocation -> {
+            // création validée juste après la lecture de la base : l'indexation arrive pendant la reconstruction
+            Thread writer = new Thread(() -> index.index(event(2L, "Atelier Java", "Lyon", "Formation")));
+            writers.add(writer);
+            writer.start();
+            Thread.sleep(100);
+            return List.of(event(1L, "Conférence Java", "Paris", "Conférence"));
+        });
+
+        index.rebuild();
+        writers.get(0).join();
+
+        assertThat(index.search("java", 10)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void normalizationDoesNotDependOnTheDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            // en turc, "I".toLowerCase() donne un i sans point
+            index.index(event(1L, "INFORMATIQUE", "ISTANBUL", "ATELIER"));
+            assertThat(index.search("informatique", 10)).containsExactly(1L);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+}
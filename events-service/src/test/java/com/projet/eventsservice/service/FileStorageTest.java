@@ -0,0 +1,158 @@
+package com.projet.eventsservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.projet.eventsservice.repository.EventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class FileStorageTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private final EventRepository eventRepository = mock(EventRepository.class);
+
+    private static final Duration GRACE = Duration.ofHours(24);
+
+    private FileStorage storage() {
+        return new FileStorage(uploadDir.toString(), eventRepository, new SimpleMeterRegistry(), GRACE);
+    }
+
+    private String store(FileStorage storage, String content, String filename) throws Exception {
+        return storage.store(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), filename);
+    }
+
+    // fichier déposé il y a deux jours, au-delà du délai de grâce
+    private void age(Path file) throws Exception {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+    }
+
+    private int collect(FileStorage storage) throws Exception {
+        return storage.collect(Instant.now().minus(GRACE));
+    }
+
+    @Test
+    void unreferencedBlobIsCollectedWithItsVariantsAfterTheGracePeriod() throws Exception {
+        FileStorage storage = storage();
+        String name = store(storage, "affiche orpheline", "affiche.png");
+        Path blob = storage.resolve(name);
+        Path thumb = storage.variantPath(name, 320, "png");
+        Path preview = storage.variantPath(name, 960, "png");
+        for (Path variant : List.of(thumb, preview)) {
+            Files.createDirectories(variant.getParent());
+            Files.write(variant, new byte[] { 1 });
+        }
+        age(blob);
+
+        assertThat(collect(storage)).isEqualTo(1);
+        assertThat(blob).doesNotExist();
+        assertThat(thumb).doesNotExist();
+        assertThat(preview).doesNotExist();
+    }
+
+    @Test
+    void recentBlobIsKeptDuringTheGracePeriod() throws Exception {
+        FileStorage storage = storage();
+        Path blob = storage.resolve(store(storage, "upload en cours", "programme.pdf"));
+
+        assertThat(collect(storage)).isZero();
+        assertThat(blob).exists();
+    }
+
+    @Test
+    void referencedBlobIsKept() throws Exception {
+        FileStorage storage = storage();
+        String name = store(storage, "affiche utilisée", "affiche.jpg");
+        Path blob = storage.resolve(name);
+        age(blob);
+        when(eventRepository.findFileUrls(anyString())).thenReturn(List.of("http://localhost:8082" + FileStorage.URL_PREFIX + name));
+
+        assertThat(collect(storage)).isZero();
+        assertThat(blob).exists();
+    }
+
+    @Test
+    void blobReferencedAfterTheScanIsKept() throws Exception {
+        FileStorage storage = storage();
+        String name = store(storage, "affiche enregistrée pendant le parcours", "affiche.jpg");
+        Path blob = storage.resolve(name);
+        age(blob);
+        // absent de l'index construit au début du parcours, présent lors de la vérification sous verrou
+        when(eventRepository.findFileUrls("%" + FileStorage.URL_PREFIX + "%")).thenReturn(List.of());
+        when(eventRepository.findFileUrls("%" + FileStorage.URL_PREFIX + name)).thenReturn(List.of(FileStorage.URL_PREFIX + name));
+
+        assertThat(collect(storage)).isZero();
+        assertThat(blob).exists();
+    }
+
+    @Test
+    void uploadingTheSameContentAgainPostponesCollection() throws Exception {
+        FileStorage storage = storage();
+        String name = store(storage, "affiche renvoyée", "affiche.png");
+        Path blob = storage.resolve(name);
+        age(blob);
+
+        assertThat(store(storage, "affiche renvoyée", "affiche.png")).isEqualTo(name);
+        assertThat(collect(storage)).isZero();
+        assertThat(blob).exists();
+    }
+
+    @Test
+    void legacyFilesAreNeverCollected() throws Exception {
+        FileStorage storage = storage();
+        Path legacy = Files.write(uploadDir.resolve("1700000000000_affiche.png"), new byte[] { 1 });
+        age(legacy);
+
+        assertThat(collect(storage)).isZero();
+        assertThat(legacy).exists();
+    }
+
+    @Test
+    void sameContentUploadedConcurrentlyIsStoredOnce() throws Exception {
+        FileStorage storage = storage();
+        byte[] content = "affiche du forum".getBytes(StandardCharsets.UTF_8);
+        int uploads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(uploads);
+        try {
+            List<Future<String>> names = IntStream.range(0, uploads)
+                    .mapToObj(i -> pool.submit(() -> {
+                        start.await();
+                        return storage.store(new ByteArrayInputStream(content), "affiche.png");
+                    }))
+                    .toList();
+            start.countDown();
+            for (Future<String> name : names) {
+                assertThat(name.get()).isEqualTo(names.get(0).get());
+            }
+            Path blob = storage.resolve(names.get(0).get());
+            assertThat(blob).hasBinaryContent(content);
+            try (var files = Files.list(uploadDir.resolve("tmp"))) {
+                assertThat(files).isEmpty();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
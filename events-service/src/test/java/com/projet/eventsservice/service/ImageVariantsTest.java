@@ -0,0 +1,114 @@
+package com.projet.eventsservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.projet.eventsservice.repository.EventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ImageVariantsTest {
+
+    private static final byte[] PNG_SIGNATURE = { (byte) 0x89, 'P', 'N', 'G' };
+
+    @TempDir
+    Path uploadDir;
+
+    private FileStorage storage;
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        storage = new FileStorage(uploadDir.toString(), mock(EventRepository.class), new SimpleMeterRegistry(),
+                Duration.ofHours(24));
+        executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    private ImageVariants variants(int thumbnailWidth) {
+        return new ImageVariants(storage, executor, new SimpleMeterRegistry(), thumbnailWidth, 960);
+    }
+
+    private String storeImage(int width, String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, width / 2, BufferedImage.TYPE_INT_RGB), format, out);
+        return storage.store(new ByteArrayInputStream(out.toByteArray()), "affiche." + format);
+    }
+
+    // la première demande lance la création en arrière-plan
+    private Path awaitVariant(ImageVariants variants, String name, String size) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            Optional<Path> variant = variants.find(name, size);
+            if (variant.isPresent()) {
+                return variant.get();
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("variante " + size + " de " + name + " non créée");
+    }
+
+    @Test
+    void narrowGifIsReencodedAsPng() throws Exception {
+        String name = storeImage(100, "gif");
+        ImageVariants variants = variants(320);
+
+        Path thumb = awaitVariant(variants, name, "thumb");
+
+        assertThat(thumb.getFileName().toString()).endsWith(".png");
+        byte[] content = Files.readAllBytes(thumb);
+        assertThat(content).startsWith(PNG_SIGNATURE);
+        assertThat(ImageIO.read(thumb.toFile()).getWidth()).isEqualTo(100);
+    }
+
+    @Test
+    void wideImageIsResizedToTheConfiguredWidth() throws Exception {
+        String name = storeImage(1200, "png");
+        ImageVariants variants = variants(320);
+
+        Path thumb = awaitVariant(variants, name, "thumb");
+
+        assertThat(ImageIO.read(thumb.toFile()).getWidth()).isEqualTo(320);
+    }
+
+    @Test
+    void changingTheWidthDoesNotServeTheOldVariant() throws Exception {
+        String name = storeImage(1200, "jpg");
+        Path before = awaitVariant(variants(320), name, "thumb");
+
+        ImageVariants resized = variants(200);
+        assertThat(resized.width("thumb")).isEqualTo(200);
+        Path after = awaitVariant(resized, name, "thumb");
+
+        assertThat(after).isNotEqualTo(before);
+        assertThat(ImageIO.read(after.toFile()).getWidth()).isEqualTo(200);
+    }
+
+    @Test
+    void nonImagesHaveNoVariant() throws Exception {
+        String name = storage.store(new ByteArrayInputStream(new byte[] { 1, 2, 3 }), "programme.pdf");
+
+        assertThat(variants(320).find(name, "thumb")).isEqualTo(Optional.empty());
+    }
+}
@@ -0,0 +1,338 @@
+package com.projet.eventsservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.projet.eventsservice.dto.NotificationRequest;
+import com.projet.eventsservice.dto.UserInfo;
+import com.projet.eventsservice.model.Event;
+import com.projet.eventsservice.model.OutboxMessage;
+import com.projet.eventsservice.repository.EventRepository;
+import com.projet.eventsservice.repository.OutboxRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Envoi de l'outbox contre un notifications-service simulé : nouvel essai avec attente exponentielle,
+// abandon après max-attempts, et isolement des messages refusés ou qui font échouer le lot.
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+class OutboxDispatcherTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(2);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(3);
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final NotificationClient notificationClient = mock(NotificationClient.class);
+    private final List<List<NotificationRequest>> calls = new ArrayList<>();
+    private NotificationOutbox notificationOutbox;
+    private NewEventNotifier newEventNotifier;
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        notificationOutbox = new NotificationOutbox(outboxRepository);
+        newEventNotifier = new NewEventNotifier(notificationClient, notificationOutbox, outboxRepository, eventRepository,
+                transactionManager, meterRegistry, 2);
+        dispatcher = new OutboxDispatcher(outboxRepository, notificationClient, newEventNotifier, meterRegistry,
+                100, MAX_ATTEMPTS, INITIAL_BACKOFF, MAX_BACKOFF);
+    }
+
+    // le service simulé refuse (4xx) ou plante (5xx) dès qu'un lot contient le message indiqué
+    private void failOn(String message, RuntimeException error) {
+        doAnswer(invocation -> {
+            List<NotificationRequest> payload = List.copyOf(invocation.getArgument(0));
+            calls.add(payload);
+            if (payload.stream().anyMatch(n -> n.message().equals(message))) {
+                throw error;
+            }
+            return null;
+        }).when(notificationClient).sendNotifications(anyList());
+    }
+
+    private void enqueue(int count) {
+        notificationOutbox.enqueueAll(IntStream.range(0, count)
+                .mapToObj(i -> new NotificationOutbox.Pending((long) i, 1L, "TEST", "message " + i))
+                .toList());
+    }
+
+    // le délai d'attente est écoulé pour tous les messages
+    private void timePasses() {
+        List<OutboxMessage> all = outboxRepository.findAll();
+        all.forEach(msg -> msg.setProchainEssai(LocalDateTime.now().minusSeconds(1)));
+        outboxRepository.saveAll(all);
+    }
+
+    private OutboxMessage single(String message) {
+        return outboxRepository.findAll().stream().filter(m -> m.getMessage().equals(message)).findFirst().orElseThrow();
+    }
+
+    @Test
+    void deliveredBatchIsRemoved() {
+        failOn("aucun", new IllegalStateException());
+        enqueue(5);
+
+        dispatcher.dispatch();
+
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0)).hasSize(5);
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    void rejectedMessageIsIsolatedAndDeadLetteredWithoutRetry() {
+        failOn("message 5", new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+        enqueue(8);
+
+        dispatcher.dispatch();
+
+        // seul le message refusé reste, abandonné dès le premier refus
+        assertThat(outboxRepository.findAll()).singleElement().satisfies(msg -> {
+            assertThat(msg.getMessage()).isEqualTo("message 5");
+            assertThat(msg.getStatut()).isEqualTo(NotificationOutbox.ECHEC);
+            assertThat(msg.getTentatives()).isEqualTo(1);
+        });
+        // 8 -> 4 + 4 -> 2 + 2 -> 1 + 1 : le lot est coupé en deux jusqu'au coupable
+        assertThat(calls).hasSizeLessThanOrEqualTo(7);
+    }
+
+    @Test
+    void serverErrorRetriesWithExponentialBackoffThenDeadLetters() {
+        failOn("message 0", new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+        enqueue(1);
+
+        dispatcher.dispatch();
+        OutboxMessage msg = single("message 0");
+        assertThat(msg.getTentatives()).isEqualTo(1);
+        assertThat(msg.getStatut()).isEqualTo(NotificationOutbox.EN_ATTENTE);
+        assertThat(msg.getProchainEssai()).isCloseTo(LocalDateTime.now().plus(INITIAL_BACKOFF), within(1, ChronoUnit.SECONDS));
+
+        // pas encore l'heure : rien n'est renvoyé
+        dispatcher.dispatch();
+        assertThat(calls).hasSize(1);
+
+        timePasses();
+        dispatcher.dispatch();
+        msg = single("message 0");
+        assertThat(msg.getTentatives()).isEqualTo(2);
+        // 4 s, plafonné à max-backoff
+        assertThat(msg.getProchainEssai()).isCloseTo(LocalDateTime.now().plus(MAX_BACKOFF), within(1, ChronoUnit.SECONDS));
+
+        timePasses();
+        dispatcher.dispatch();
+        msg = single("message 0");
+        assertThat(msg.getTentatives()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(msg.getStatut()).isEqualTo(NotificationOutbox.ECHEC);
+        assertThat(msg.getDerniereErreur()).contains("503");
+
+        timePasses();
+        dispatcher.dispatch();
+        assertThat(calls).hasSize(MAX_ATTEMPTS);
+    }
+
+    @Test
+    void failingMessageDoesNotDragTheRestOfTheBatchToDeadLetter() {
+        failOn("message 2", new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
+        enqueue(4);
+
+        // premier envoi groupé en échec : tout le lot est reporté
+        dispatcher.dispatch();
+        assertThat(outboxRepository.findAll()).hasSize(4).allSatisfy(m -> assertThat(m.getTentatives()).isEqualTo(1));
+
+        // le lot renvoyé échoue de nouveau : coupé en deux jusqu'au coupable, les autres passent
+        timePasses();
+        dispatcher.dispatch();
+        assertThat(outboxRepository.findAll()).singleElement().satisfies(msg -> {
+            assertThat(msg.getMessage()).isEqualTo("message 2");
+            assertThat(msg.getTentatives()).isEqualTo(2);
+            assertThat(msg.getStatut()).isEqualTo(NotificationOutbox.EN_ATTENTE);
+        });
+        // 4 -> 2 + 2 -> 1 + 1
+        assertThat(calls).hasSize(1 + 5);
+
+        timePasses();
+        dispatcher.dispatch();
+
+        assertThat(outboxRepository.findAll()).singleElement().satisfies(msg -> {
+            assertThat(msg.getMessage()).isEqualTo("message 2");
+            assertThat(msg.getStatut()).isEqualTo(NotificationOutbox.ECHEC);
+        });
+    }
+
+    @Test
+    void backlogAfterAnOutageIsResentAsOneBatch() {
+        enqueue(10);
+        doAnswer(invocation -> {
+            calls.add(List.copyOf(invocation.getArgument(0)));
+            throw new ResourceAccessException("Connection refused");
+        }).when(notificationClient).sendNotifications(anyList());
+        dispatcher.dispatch();
+        timePasses();
+        dispatcher.dispatch();
+        assertThat(outboxRepository.findAll()).hasSize(10).allSatisfy(m -> assertThat(m.getTentatives()).isEqualTo(2));
+
+        // le service revient : un seul appel pour tout le retard
+        failOn("aucun", new IllegalStateException());
+        timePasses();
+        dispatcher.dispatch();
+
+        assertThat(calls).hasSize(3);
+        assertThat(calls.get(2)).hasSize(10);
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    void unavailableServiceIsNotMistakenForAFailingMessage() {
+        failOn("message 1", new HttpServerErrorException(HttpStatus.BAD_GATEWAY));
+        enqueue(4);
+        dispatcher.dispatch();
+        timePasses();
+
+        dispatcher.dispatch();
+
+        // lot renvoyé tel quel, sans découpage
+        assertThat(calls).hasSize(2);
+        assertThat(outboxRepository.findAll()).hasSize(4).allSatisfy(m -> assertThat(m.getTentatives()).isEqualTo(2));
+    }
+
+    @Test
+    void unreachableServiceStopsThePass() {
+        doAnswer(invocation -> {
+            throw new ResourceAccessException("Connection refused");
+        }).when(notificationClient).sendNotifications(anyList());
+        enqueue(3);
+        dispatcher.dispatch();
+        timePasses();
+        notificationOutbox.enqueue(9L, 1L, "TEST", "nouveau");
+
+        // l'envoi des nouveaux messages échoue : les messages en échec attendent le prochain passage
+        dispatcher.dispatch();
+
+        verify(notificationClient, times(2)).sendNotifications(anyList());
+        assertThat(single("nouveau").getTentatives()).isEqualTo(1);
+        assertThat(single("message 0").getTentatives()).isEqualTo(1);
+    }
+
+    @Test
+    void newEventDiffusionIsExpandedIntoOneNotificationPerParticipant() {
+        failOn("aucun", new IllegalStateException());
+        when(notificationClient.fetchParticipants()).thenReturn(IntStream.range(0, 5)
+                .mapToObj(i -> user((long) i)).toList());
+        Event event = new Event();
+        event.setTitre("Forum");
+        event = eventRepository.save(event);
+        newEventNotifier.enqueue(event);
+
+        dispatcher.dispatch();
+        assertThat(outboxRepository.findAll()).hasSize(5).allSatisfy(msg -> {
+            assertThat(msg.getType()).isEqualTo("NOUVEL_EVENEMENT");
+            assertThat(msg.getMessage()).isEqualTo("Nouvel événement publié : Forum.");
+        });
+        assertThat(newEventNotifier.progress(event.getId())).hasValueSatisfying(p -> {
+            assertThat(p.getTotal()).isEqualTo(5);
+            assertThat(p.getQueued()).isEqualTo(5);
+        });
+
+        dispatcher.dispatch();
+        assertThat(calls).singleElement().satisfies(payload -> assertThat(payload).hasSize(5));
+        assertThat(outboxRepository.count()).isZero();
+        assertThat(newEventNotifier.progress(event.getId())).hasValueSatisfying(p -> assertThat(p.getDelivered()).isEqualTo(5));
+    }
+
+    // hors transaction de test : chaque lot est réellement validé avant le suivant
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void interruptedDiffusionResumesAfterTheLastCommittedChunk() {
+        when(notificationClient.fetchParticipants()).thenReturn(IntStream.of(4, 1, 3, 1, 0, 2)
+                .mapToObj(i -> user((long) i)).toList());
+        Event event = new Event();
+        event.setTitre("Forum");
+        event = eventRepository.save(event);
+        try {
+            newEventNotifier.enqueue(event);
+            OutboxMessage diffusion = outboxRepository.findAll().get(0);
+
+            // arrêt pendant l'écriture du deuxième lot
+            NotificationOutbox failing = spy(notificationOutbox);
+            doCallRealMethod().doThrow(new IllegalStateException("arrêt")).when(failing).enqueueAll(anyList());
+            NewEventNotifier interrupted = new NewEventNotifier(notificationClient, failing, outboxRepository,
+                    eventRepository, transactionManager, new SimpleMeterRegistry(), 2);
+            assertThatThrownBy(() -> interrupted.expand(diffusion)).isInstanceOf(IllegalStateException.class);
+
+            assertThat(interrupted.progress(event.getId())).hasValueSatisfying(p -> {
+                assertThat(p.getQueued()).isEqualTo(2);
+                assertThat(p.getFailed()).isEqualTo(3);
+            });
+            assertThat(outboxRepository.findById(diffusion.getId()))
+                    .hasValueSatisfying(d -> assertThat(d.getCurseur()).isEqualTo(1L));
+
+            newEventNotifier.expand(outboxRepository.findById(diffusion.getId()).orElseThrow());
+
+            assertThat(outboxRepository.findAll())
+                    .allSatisfy(msg -> assertThat(msg.getType()).isEqualTo(NewEventNotifier.NOTIFICATION_TYPE))
+                    .extracting(OutboxMessage::getDestinataireId)
+                    .containsExactlyInAnyOrder(0L, 1L, 2L, 3L, 4L);
+        } finally {
+            outboxRepository.deleteAll();
+            eventRepository.delete(event);
+        }
+    }
+
+    @Test
+    void diffusionIsKeptWhenParticipantsCannotBeFetched() {
+        when(notificationClient.fetchParticipants()).thenThrow(new ResourceAccessException("auth-service indisponible"));
+        Event event = new Event();
+        event.setTitre("Forum");
+        newEventNotifier.enqueue(eventRepository.save(event));
+
+        dispatcher.dispatch();
+
+        assertThat(outboxRepository.findAll()).singleElement().satisfies(msg -> {
+            assertThat(msg.getType()).isEqualTo(NewEventNotifier.DIFFUSION_TYPE);
+            assertThat(msg.getStatut()).isEqualTo(NotificationOutbox.EN_ATTENTE);
+            assertThat(msg.getTentatives()).isEqualTo(1);
+        });
+    }
+
+    private static UserInfo user(Long id) {
+        UserInfo user = new UserInfo();
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,87 @@
+package com.projet.eventsservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.projet.eventsservice.dto.SeatState;
+import com.projet.eventsservice.model.Event;
+import com.projet.eventsservice.repository.EventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Recalage des compteurs pendant qu'une inscription est en cours : la place ne doit être retirée qu'une fois.
+class SeatCountersTest {
+
+    private static final long EVENT_ID = 1L;
+
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final SeatCounters seatCounters = new SeatCounters(eventRepository, new SimpleMeterRegistry());
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        event = new Event();
+        event.setId(EVENT_ID);
+        event.setCapacite(2);
+        seatsInDatabase(0);
+    }
+
+    private void seatsInDatabase(int inscrits) {
+        when(eventRepository.findSeatState(EVENT_ID)).thenReturn(Optional.of(new SeatState(2, inscrits)));
+    }
+
+    @Test
+    void reconcileAfterCommitBeforeConfirmationDoesNotCountTheSeatTwice() {
+        assertThat(seatCounters.tryAcquire(event)).isTrue();
+
+        seatCounters.commit(EVENT_ID, () -> {
+            // transaction validée : la place est en base, la demande n'est pas encore soldée
+            seatsInDatabase(1);
+            seatCounters.reconcile();
+            return "inscription";
+        });
+
+        // une place libre sur deux : la suivante doit passer
+        assertThat(seatCounters.tryAcquire(event)).isTrue();
+        assertThat(seatCounters.tryAcquire(event)).isFalse();
+    }
+
+    @Test
+    void reconcileBeforeCommitKeepsTheGrantedSeat() {
+        assertThat(seatCounters.tryAcquire(event)).isTrue();
+        // place accordée en mémoire, transaction pas encore commencée : pas encore en base
+        seatCounters.reconcile();
+
+        assertThat(seatCounters.tryAcquire(event)).isTrue();
+        assertThat(seatCounters.tryAcquire(event)).isFalse();
+    }
+
+    @Test
+    void reconcilePicksUpSeatsTakenElsewhere() {
+        assertThat(seatCounters.tryAcquire(event)).isTrue();
+        seatCounters.released(EVENT_ID);
+
+        // deux places prises par une autre instance
+        seatsInDatabase(2);
+        seatCounters.reconcile();
+
+        assertThat(seatCounters.tryAcquire(event)).isFalse();
+    }
+
+    @Test
+    void refusedByDatabaseMarksTheEventFull() {
+        event.setCapacite(5);
+        when(eventRepository.findSeatState(EVENT_ID)).thenReturn(Optional.of(new SeatState(5, 0)));
+        assertThat(seatCounters.tryAcquire(event)).isTrue();
+
+        assertThat(seatCounters.<String>commit(EVENT_ID, () -> null)).isNull();
+
+        assertThat(seatCounters.tryAcquire(event)).isFalse();
+    }
+}
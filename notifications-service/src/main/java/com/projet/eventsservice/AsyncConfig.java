@@ -0,0 +1,26 @@
+package com.projet.eventsservice;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    // pool borné pour pousser les notifications sur les flux SSE : la requête qui crée la notification
+    // n'attend jamais un client lent ; file pleine => rejet, le client se recale à la reconnexion
+    @Bean
+    public ThreadPoolTaskExecutor pushExecutor(@Value("${app.notifications.sse.push-threads:2}") int threads,
+            @Value("${app.notifications.sse.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("sse-push-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
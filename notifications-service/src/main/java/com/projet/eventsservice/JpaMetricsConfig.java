@@ -0,0 +1,73 @@
+package com.projet.eventsservice;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Nombre de requêtes SQL par requête HTTP, publié par route (jpa.queries.per.request)
+// Copie identique dans auth-service, events-service et notifications-service (pas de module commun) :
+// toute modification doit être reportée dans les trois services, avec QueryCountInspector.
+@Configuration
+public class JpaMetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(new QueryCountFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    static class QueryCountFilter extends OncePerRequestFilter {
+
+        private final MeterRegistry meterRegistry;
+        // une série par route : créée au premier passage puis réutilisée
+        private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+        QueryCountFilter(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            QueryCountInspector.start();
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                int queries = QueryCountInspector.stop();
+                // route déclarée (ex: /api/events/{id}) pour ne pas créer une série par id
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                summary(request.getMethod(), pattern != null ? pattern.toString() : "UNKNOWN").record(queries);
+            }
+        }
+
+        private DistributionSummary summary(String method, String uri) {
+            return summaries.computeIfAbsent(method + " " + uri, key -> DistributionSummary.builder("jpa.queries.per.request")
+                    .description("Requêtes SQL exécutées pendant une requête HTTP")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry));
+        }
+    }
+}
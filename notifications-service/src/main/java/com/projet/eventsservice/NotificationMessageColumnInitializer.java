@@ -0,0 +1,43 @@
+package com.projet.eventsservice;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+// ddl-auto=update n'élargit pas une colonne existante : les bases créées avant le passage de message
+// à 2000 caractères gardent un VARCHAR(255), trop court pour les récapitulatifs envoyés aux organisateurs.
+// Au démarrage, après la mise à jour du schéma, la colonne est agrandie si besoin.
+@Component
+@DependsOn("entityManagerFactory")
+public class NotificationMessageColumnInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationMessageColumnInitializer.class);
+
+    static final int MESSAGE_LENGTH = 2000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationMessageColumnInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void widenMessageColumns() {
+        for (String table : List.of("NOTIFICATIONS", "NOTIFICATIONS_ARCHIVE")) {
+            Integer length = jdbcTemplate.queryForObject(
+                    "select max(character_maximum_length) from information_schema.columns "
+                            + "where table_name = ? and column_name = 'MESSAGE'",
+                    Integer.class, table);
+            if (length != null && length < MESSAGE_LENGTH) {
+                jdbcTemplate.execute("alter table " + table + " alter column message set data type varchar(" + MESSAGE_LENGTH + ")");
+                log.info("Colonne {}.MESSAGE agrandie de {} à {} caractères", table, length, MESSAGE_LENGTH);
+            }
+        }
+    }
+}
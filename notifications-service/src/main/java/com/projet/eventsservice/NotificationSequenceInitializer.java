@@ -0,0 +1,36 @@
+package com.projet.eventsservice;
+
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+// Les notifications existantes ont été créées avec des ids IDENTITY : au démarrage on place
+// la séquence au-delà du plus grand id pour que les blocs alloués ne les chevauchent pas.
+// (exécuté après la mise à jour du schéma et avant l'ouverture du serveur web)
+@Component
+@DependsOn("entityManagerFactory")
+public class NotificationSequenceInitializer {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequence() {
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from notifications", Long.class);
+        Long nextValue = jdbcTemplate.queryForObject(
+                "select base_value from information_schema.sequences where sequence_name = 'NOTIFICATIONS_SEQ'",
+                Long.class);
+
+        // un bloc "pooled" renvoyé pour la valeur v couvre [v - 49, v]
+        if (maxId != null && nextValue != null && nextValue - ALLOCATION_SIZE < maxId) {
+            jdbcTemplate.execute("alter sequence notifications_seq restart with " + (maxId + ALLOCATION_SIZE + 1));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.projet.eventsservice;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+// Règles de conservation des notifications (app.notifications.retention.*)
+@Data
+@ConfigurationProperties(prefix = "app.notifications.retention")
+public class RetentionProperties {
+
+    private boolean enabled = true;
+
+    // lignes traitées par transaction : garde les verrous courts
+    private int batchSize = 500;
+
+    // borne la durée d'un passage ; le reste est traité au passage suivant
+    private int maxBatchesPerRun = 200;
+
+    // durée de conservation des lignes archivées (null = pas de purge de l'archive)
+    private Duration archiveMaxAge;
+
+    private List<Policy> policies = new ArrayList<>();
+
+    public enum Action {
+        ARCHIVE, DELETE
+    }
+
+    // une règle : type (null = tous), état de lecture (null = lues ou non), âge au-delà duquel on agit
+    @Data
+    public static class Policy {
+        private String type;
+        private Boolean lue;
+        private Duration maxAge;
+        private Action action = Action.DELETE;
+
+        public String describe() {
+            return (type != null ? type : "*") + "/" + (lue == null ? "*" : lue ? "lues" : "non-lues")
+                    + "/" + maxAge.toDays() + "j";
+        }
+    }
+}
@@ -1,31 +1,68 @@
 package com.projet.eventsservice.controller;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.projet.eventsservice.dto.BatchResponse;
+import com.projet.eventsservice.dto.BulkResponse;
+import com.projet.eventsservice.dto.NotificationPage;
+import com.projet.eventsservice.dto.UnreadCount;
 import com.projet.eventsservice.model.Notification;
 import com.projet.eventsservice.repository.NotificationRepository;
+import com.projet.eventsservice.service.NotificationBatchService;
+import com.projet.eventsservice.service.NotificationStreams;
+import com.projet.eventsservice.service.UnreadCounters;
+
+import io.micrometer.core.annotation.Timed;
 
 @RestController
 @RequestMapping("/api/notifications")
 @CrossOrigin(origins = "*")
+@Timed(value = "controller.requests", histogram = true)
 public class NotificationController {
 
+    // taille maximale d'un lot accepté par POST /api/notifications/batch
+    private static final int MAX_BATCH = 10_000;
+    // tailles des colonnes de Notification
+    private static final int MAX_TYPE_LENGTH = 255;
+    private static final int MAX_MESSAGE_LENGTH = 2000;
+    private static final int MAX_PAGE = 200;
+    // notifications renvoyées au plus à la reconnexion d'un flux SSE ; au-delà, la liste se recharge par pages
+    private static final int MAX_REPLAY = 200;
+
     private final NotificationRepository notificationRepository;
+    private final NotificationBatchService notificationBatchService;
+    private final NotificationStreams notificationStreams;
+    private final UnreadCounters unreadCounters;
 
-    public NotificationController(NotificationRepository notificationRepository) {
+    public NotificationController(NotificationRepository notificationRepository,
+            NotificationBatchService notificationBatchService, NotificationStreams notificationStreams,
+            UnreadCounters unreadCounters) {
         this.notificationRepository = notificationRepository;
+        this.notificationBatchService = notificationBatchService;
+        this.notificationStreams = notificationStreams;
+        this.unreadCounters = unreadCounters;
     }
 
     // créer une notification (appelé par events-service)
@@ -38,33 +75,180 @@ public class NotificationController {
         // On force lue à false pour une nouvelle notif
         notif.setLue(false);
 
-        return notificationRepository.save(notif);
+        Notification saved = notificationRepository.save(notif);
+        unreadCounters.add(saved.getParticipantId(), 1);
+        notificationStreams.publish(saved);
+        return saved;
+    }
+
+    // créer plusieurs notifications en un appel (envois en masse depuis events-service)
+    @PostMapping("/batch")
+    public ResponseEntity<?> createBatch(@RequestBody List<Notification> notifs) {
+        if (notifs.size() > MAX_BATCH) {
+            return ResponseEntity.badRequest().body("Lot trop volumineux (max " + MAX_BATCH + ").");
+        }
+        // un élément invalide est refusé en 400 (et non en erreur 500) : l'expéditeur isole le message
+        // en cause au lieu de renvoyer tout le lot
+        List<Integer> invalid = new ArrayList<>();
+        for (int i = 0; i < notifs.size(); i++) {
+            if (!isValid(notifs.get(i))) {
+                invalid.add(i);
+            }
+        }
+        if (!invalid.isEmpty()) {
+            return ResponseEntity.badRequest().body("Notifications invalides aux positions " + invalid + ".");
+        }
+        int created;
+        try {
+            created = notificationBatchService.createAll(notifs);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.badRequest().body("Lot refusé par la base : " + e.getMostSpecificCause().getMessage());
+        }
+
+        Map<Long, Long> perParticipant = notifs.stream()
+                .filter(n -> n.getParticipantId() != null)
+                .collect(Collectors.groupingBy(Notification::getParticipantId, Collectors.counting()));
+        perParticipant.forEach(unreadCounters::add);
+        notificationStreams.publish(notifs);
+
+        return ResponseEntity.ok(new BatchResponse(created));
     }
 
-    // liste des notifications pour un participant
+    // toutes les notifications d'un participant (format historique, conservé pour les clients existants)
     @GetMapping("/participant/{participantId}")
     public List<Notification> getByParticipant(@PathVariable Long participantId) {
         return notificationRepository.findByParticipantIdOrderByDateCreationDesc(participantId);
     }
 
+    private static boolean isValid(Notification notif) {
+        return notif != null
+                && notif.getParticipantId() != null
+                && (notif.getType() == null || notif.getType().length() <= MAX_TYPE_LENGTH)
+                && (notif.getMessage() == null || notif.getMessage().length() <= MAX_MESSAGE_LENGTH);
+    }
+
+    // notifications d'un participant, des plus récentes aux plus anciennes, par pages :
+    // GET /api/notifications/participant/{id}/page?size=50 puis ?cursor=<nextCursor>
+    @GetMapping("/participant/{participantId}/page")
+    public ResponseEntity<NotificationPage> getPageByParticipant(
+            @PathVariable Long participantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE));
+        List<Notification> items;
+        if (cursor == null || cursor.isBlank()) {
+            items = notificationRepository.findByParticipantIdOrderByDateCreationDescIdDesc(participantId, Limit.of(limit));
+        } else {
+            int sep = cursor.lastIndexOf('_');
+            LocalDateTime date;
+            long id;
+            try {
+                date = LocalDateTime.parse(cursor.substring(0, sep));
+                id = Long.parseLong(cursor.substring(sep + 1));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().build();
+            }
+            items = notificationRepository.findPageBefore(participantId, date, id, Limit.of(limit));
+        }
+        String nextCursor = null;
+        if (items.size() == limit) {
+            Notification last = items.get(items.size() - 1);
+            nextCursor = last.getDateCreation() + "_" + last.getId();
+        }
+        return ResponseEntity.ok(new NotificationPage(items, nextCursor));
+    }
+
+    // flux SSE des nouvelles notifications d'un participant (EventSource côté front) ;
+    // à la reconnexion, EventSource envoie Last-Event-ID et les notifications créées depuis sont renvoyées
+    @GetMapping(value = "/participant/{participantId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable Long participantId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long lastId = parseId(lastEventId);
+        return notificationStreams.subscribe(participantId, unreadCounters.get(participantId),
+                () -> lastId != null ? missedSince(participantId, lastId) : List.of());
+    }
+
+    // des plus anciennes aux plus récentes, dans l'ordre où elles auraient été poussées
+    private List<Notification> missedSince(Long participantId, Long lastId) {
+        List<Notification> missed = new ArrayList<>(notificationRepository
+                .findByParticipantIdAndIdGreaterThanOrderByIdDesc(participantId, lastId, Limit.of(MAX_REPLAY)));
+        Collections.reverse(missed);
+        return missed;
+    }
+
+    // Last-Event-ID absent ou illisible : pas de reprise
+    private static Long parseId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // nombre de notifications non lues, sans charger l'historique
+    @GetMapping("/participant/{participantId}/non-lues")
+    public UnreadCount countUnread(@PathVariable Long participantId) {
+        return new UnreadCount(participantId, unreadCounters.get(participantId));
+    }
+
     // marquer une notification comme lue (compatible avec front actuel)
     @PatchMapping("/{id}/lue")
     public ResponseEntity<Notification> markAsRead(@PathVariable Long id) {
         return notificationRepository.findById(id)
                 .map(n -> {
+                    boolean wasUnread = !n.isLue();
                     n.setLue(true);
-                    return ResponseEntity.ok(notificationRepository.save(n));
+                    Notification saved = notificationRepository.save(n);
+                    if (wasUnread) {
+                        unreadCounters.add(n.getParticipantId(), -1);
+                    }
+                    return ResponseEntity.ok(saved);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // marquer comme lues toutes les notifications d'un participant, ou seulement celles de ?ids=1,2,3
+    @PatchMapping("/participant/{participantId}/lue")
+    public BulkResponse markAllAsRead(
+            @PathVariable Long participantId,
+            @RequestParam(required = false) List<Long> ids) {
+        int updated = ids == null
+                ? notificationRepository.markAllAsRead(participantId)
+                : ids.isEmpty() ? 0 : notificationRepository.markAsRead(participantId, ids);
+        unreadCounters.add(participantId, -updated);
+        return new BulkResponse(updated);
+    }
+
+    // supprimer toutes les notifications d'un participant, ou seulement celles de ?ids=1,2,3
+    @DeleteMapping("/participant/{participantId}")
+    public BulkResponse deleteAll(
+            @PathVariable Long participantId,
+            @RequestParam(required = false) List<Long> ids) {
+        int deleted = ids == null
+                ? notificationRepository.deleteAllByParticipant(participantId)
+                : ids.isEmpty() ? 0 : notificationRepository.deleteByParticipant(participantId, ids);
+        // on ne sait pas combien étaient non lues : le compteur sera relu en base
+        if (deleted > 0) {
+            unreadCounters.evict(participantId);
+        }
+        return new BulkResponse(deleted);
+    }
+
     // supprimer une notification
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
-        if (!notificationRepository.existsById(id)) {
+        var notifOpt = notificationRepository.findById(id);
+        if (notifOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        notificationRepository.deleteById(id);
+        Notification notif = notifOpt.get();
+        notificationRepository.delete(notif);
+        if (!notif.isLue()) {
+            unreadCounters.add(notif.getParticipantId(), -1);
+        }
         return ResponseEntity.noContent().build();
     }
 }
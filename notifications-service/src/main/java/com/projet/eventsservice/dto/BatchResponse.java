@@ -0,0 +1,10 @@
+package com.projet.eventsservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BatchResponse {
+    private int created;
+}
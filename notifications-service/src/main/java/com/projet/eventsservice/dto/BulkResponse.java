@@ -0,0 +1,11 @@
+package com.projet.eventsservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// nombre de notifications touchées par une opération groupée
+@Data
+@AllArgsConstructor
+public class BulkResponse {
+    private int affected;
+}
@@ -0,0 +1,15 @@
+package com.projet.eventsservice.dto;
+
+import java.util.List;
+
+import com.projet.eventsservice.model.Notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class NotificationPage {
+    private List<Notification> items;
+    private String nextCursor;   // "dateCreation_id" de la dernière notification, null quand il n'y a plus de page
+}
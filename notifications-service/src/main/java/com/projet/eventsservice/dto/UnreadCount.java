@@ -0,0 +1,11 @@
+package com.projet.eventsservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UnreadCount {
+    private Long participantId;
+    private long nonLues;
+}
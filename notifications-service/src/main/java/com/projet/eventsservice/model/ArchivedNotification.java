@@ -0,0 +1,34 @@
+package com.projet.eventsservice.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+// notification sortie de la table principale par la politique de conservation (même id)
+@Entity
+@Table(name = "notifications_archive", indexes = @Index(name = "idx_notifications_archive_date", columnList = "date_archivage"))
+@Data
+public class ArchivedNotification {
+
+    @Id
+    private Long id;
+
+    private Long participantId;
+    private Long eventId;
+
+    private String type;
+
+    @Column(length = 2000)
+    private String message;
+
+    private LocalDateTime dateCreation;
+
+    private boolean lue;
+
+    private LocalDateTime dateArchivage;
+}
@@ -2,26 +2,39 @@ package com.projet.eventsservice.model;
 
 import java.time.LocalDateTime;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Data;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_participant_lue", columnList = "participant_id, lue"),
+        @Index(name = "idx_notifications_participant_date", columnList = "participant_id, date_creation, id"),
+        @Index(name = "idx_notifications_date_creation", columnList = "date_creation")
+})
 @Data
 public class Notification {
 
+    // séquence avec allocation par blocs de 50 : Hibernate peut regrouper les INSERT en batch JDBC
+    // (impossible avec IDENTITY, où chaque INSERT doit être exécuté pour connaître l'id)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Long id;
 
     private Long participantId;     // destinataire
     private Long eventId;           // événement lié (optionnel)
     
     private String type;            // CONFIRMATION_INSCRIPTION, ANNULATION_INSCRIPTION, RAPPEL, etc.
+
+    // même taille que OutboxMessage.message côté events-service (récapitulatifs nominatifs)
+    @Column(length = 2000)
     private String message;
 
     private LocalDateTime dateCreation;
@@ -0,0 +1,31 @@
+package com.projet.eventsservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.projet.eventsservice.model.ArchivedNotification;
+
+public interface ArchivedNotificationRepository extends JpaRepository<ArchivedNotification, Long> {
+
+    // copie côté base, sans charger les notifications
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into notifications_archive "
+            + "(id, participant_id, event_id, type, message, date_creation, lue, date_archivage) "
+            + "select id, participant_id, event_id, type, message, date_creation, lue, :now "
+            + "from notifications where id in :ids")
+    int archive(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("select a.id from ArchivedNotification a where a.dateArchivage < :cutoff order by a.dateArchivage")
+    List<Long> findIdsArchivedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @Modifying
+    @Query("delete from ArchivedNotification a where a.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
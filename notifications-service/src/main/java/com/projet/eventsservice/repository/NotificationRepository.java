@@ -1,12 +1,66 @@
 package com.projet.eventsservice.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.projet.eventsservice.model.Notification;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
     List<Notification> findByParticipantIdOrderByDateCreationDesc(Long participantId);
-}
\ No newline at end of file
+
+    // pagination par clé sur (dateCreation, id), servie par l'index (participant_id, date_creation, id)
+    List<Notification> findByParticipantIdOrderByDateCreationDescIdDesc(Long participantId, Limit limit);
+
+    @Query("select n from Notification n where n.participantId = :participantId "
+            + "and (n.dateCreation < :date or (n.dateCreation = :date and n.id < :id)) "
+            + "order by n.dateCreation desc, n.id desc")
+    List<Notification> findPageBefore(@Param("participantId") Long participantId, @Param("date") LocalDateTime date,
+            @Param("id") Long id, Limit limit);
+
+    // reprise d'un flux SSE après Last-Event-ID (ids croissants) : les plus récentes d'abord
+    List<Notification> findByParticipantIdAndIdGreaterThanOrderByIdDesc(Long participantId, Long id, Limit limit);
+
+    // opérations groupées : une seule requête chacune
+    @Modifying
+    @Transactional
+    @Query("update Notification n set n.lue = true where n.participantId = :participantId and n.lue = false")
+    int markAllAsRead(@Param("participantId") Long participantId);
+
+    @Modifying
+    @Transactional
+    @Query("update Notification n set n.lue = true "
+            + "where n.participantId = :participantId and n.id in :ids and n.lue = false")
+    int markAsRead(@Param("participantId") Long participantId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Transactional
+    @Query("delete from Notification n where n.participantId = :participantId")
+    int deleteAllByParticipant(@Param("participantId") Long participantId);
+
+    @Modifying
+    @Transactional
+    @Query("delete from Notification n where n.participantId = :participantId and n.id in :ids")
+    int deleteByParticipant(@Param("participantId") Long participantId, @Param("ids") Collection<Long> ids);
+
+    // servi par l'index (participant_id, lue)
+    long countByParticipantIdAndLueFalse(Long participantId);
+
+    // lot de notifications visées par une règle de conservation (parcours de l'index sur date_creation)
+    @Query("select n.id from Notification n where n.dateCreation < :cutoff "
+            + "and (:type is null or n.type = :type) and (:lue is null or n.lue = :lue) order by n.dateCreation")
+    List<Long> findIdsForRetention(@Param("cutoff") LocalDateTime cutoff, @Param("type") String type,
+            @Param("lue") Boolean lue, Limit limit);
+
+    @Modifying
+    @Query("delete from Notification n where n.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
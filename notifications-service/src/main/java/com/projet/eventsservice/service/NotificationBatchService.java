@@ -0,0 +1,49 @@
+package com.projet.eventsservice.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.projet.eventsservice.model.Notification;
+
+import jakarta.persistence.EntityManager;
+
+// Insertion en masse : un seul commit, des INSERT regroupés par lots JDBC (hibernate.jdbc.batch_size)
+// et un contexte de persistance vidé après chaque lot pour garder une mémoire constante.
+@Service
+public class NotificationBatchService {
+
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public NotificationBatchService(EntityManager entityManager,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public int createAll(List<Notification> notifications) {
+        LocalDateTime now = LocalDateTime.now();
+        int count = 0;
+        for (Notification notif : notifications) {
+            notif.setId(null);
+            if (notif.getDateCreation() == null) {
+                notif.setDateCreation(now);
+            }
+            notif.setLue(false);
+            entityManager.persist(notif);
+
+            if (++count % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return count;
+    }
+}
@@ -0,0 +1,146 @@
+package com.projet.eventsservice.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.projet.eventsservice.model.Notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Flux SSE par participant : les notifications enregistrées sont poussées aux navigateurs connectés.
+// Une connexion ouverte ne bloque aucun thread (requête asynchrone) ; les envois passent par pushExecutor.
+@Service
+public class NotificationStreams {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationStreams.class);
+
+    private final Map<Long, Set<SseEmitter>> emittersByParticipant = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private final ThreadPoolTaskExecutor pushExecutor;
+    private final long timeoutMillis;
+
+    private final Counter pushedCounter;
+    private final Counter droppedCounter;
+
+    public NotificationStreams(ThreadPoolTaskExecutor pushExecutor, MeterRegistry meterRegistry,
+            @Value("${app.notifications.sse.timeout:30m}") Duration timeout) {
+        this.pushExecutor = pushExecutor;
+        this.timeoutMillis = timeout.toMillis();
+
+        this.pushedCounter = Counter.builder("notifications.sse.events").tag("outcome", "pushed").register(meterRegistry);
+        this.droppedCounter = Counter.builder("notifications.sse.events").tag("outcome", "dropped").register(meterRegistry);
+        Gauge.builder("notifications.sse.connections", connections, AtomicInteger::get)
+                .description("Flux SSE ouverts")
+                .register(meterRegistry);
+    }
+
+    // Ouvre un flux ; le premier événement donne le nombre de non lues, puis viennent les notifications manquées
+    // (reconnexion avec Last-Event-ID). missed est lu après l'inscription du flux : une notification publiée
+    // pendant la reconnexion peut arriver deux fois (même id), jamais zéro.
+    public SseEmitter subscribe(Long participantId, long unread, Supplier<List<Notification>> missed) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emittersByParticipant.compute(participantId, (id, emitters) -> {
+            Set<SseEmitter> set = emitters != null ? emitters : new CopyOnWriteArraySet<>();
+            set.add(emitter);
+            return set;
+        });
+        connections.incrementAndGet();
+
+        Runnable remove = () -> remove(participantId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        try {
+            emitter.send(SseEmitter.event().name("non-lues").data(unread));
+            for (Notification notif : missed.get()) {
+                emitter.send(event(notif));
+            }
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    // appelé après l'enregistrement ; ne fait rien si le participant n'est pas connecté
+    public void publish(List<Notification> notifications) {
+        for (Notification notif : notifications) {
+            Set<SseEmitter> emitters = emittersByParticipant.get(notif.getParticipantId());
+            if (emitters == null || emitters.isEmpty()) {
+                continue;
+            }
+            try {
+                pushExecutor.execute(() -> send(emitters, notif));
+            } catch (TaskRejectedException e) {
+                droppedCounter.increment();
+            }
+        }
+    }
+
+    public void publish(Notification notification) {
+        publish(List.of(notification));
+    }
+
+    private void send(Set<SseEmitter> emitters, Notification notif) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(event(notif));
+                pushedCounter.increment();
+            } catch (IOException | IllegalStateException e) {
+                // client parti : le conteneur appellera onError / onCompletion
+                droppedCounter.increment();
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    // l'id permet au navigateur de renvoyer Last-Event-ID à la reconnexion
+    private static SseEmitter.SseEventBuilder event(Notification notif) {
+        return SseEmitter.event()
+                .id(String.valueOf(notif.getId()))
+                .name("notification")
+                .data(notif);
+    }
+
+    // commentaire SSE périodique : garde les connexions ouvertes à travers les proxys et détecte les clients partis
+    @Scheduled(fixedDelayString = "${app.notifications.sse.heartbeat-interval:20000}")
+    public void heartbeat() {
+        emittersByParticipant.values().forEach(emitters -> emitters.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }));
+    }
+
+    // compute : retrait et ajout d'un flux pour le même participant ne peuvent pas se croiser
+    private void remove(Long participantId, SseEmitter emitter) {
+        emittersByParticipant.computeIfPresent(participantId, (id, emitters) -> {
+            if (emitters.remove(emitter)) {
+                connections.decrementAndGet();
+                log.debug("Flux SSE fermé pour le participant {}", participantId);
+            }
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
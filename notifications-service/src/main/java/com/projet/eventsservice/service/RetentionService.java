@@ -0,0 +1,171 @@
+package com.projet.eventsservice.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projet.eventsservice.RetentionProperties;
+import com.projet.eventsservice.RetentionProperties.Action;
+import com.projet.eventsservice.RetentionProperties.Policy;
+import com.projet.eventsservice.repository.ArchivedNotificationRepository;
+import com.projet.eventsservice.repository.NotificationRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Applique les règles de conservation : les notifications trop anciennes sont archivées ou supprimées
+// par lots, chaque lot dans sa propre transaction courte (pas de verrou long sur la table).
+@Service
+@EnableConfigurationProperties(RetentionProperties.class)
+public class RetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(RetentionService.class);
+
+    private final RetentionProperties properties;
+    private final NotificationRepository notificationRepository;
+    private final ArchivedNotificationRepository archiveRepository;
+    private final UnreadCounters unreadCounters;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // tailles des tables, relevées à chaque passage (pas de COUNT(*) à chaque scrape)
+    private final AtomicLong notificationRows = new AtomicLong();
+    private final AtomicLong archiveRows = new AtomicLong();
+
+    private final Timer batchTimer;
+
+    public RetentionService(RetentionProperties properties, NotificationRepository notificationRepository,
+            ArchivedNotificationRepository archiveRepository, UnreadCounters unreadCounters,
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.notificationRepository = notificationRepository;
+        this.archiveRepository = archiveRepository;
+        this.unreadCounters = unreadCounters;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+
+        this.batchTimer = Timer.builder("notifications.retention.batch")
+                .description("Durée d'un lot archivé ou supprimé")
+                .register(meterRegistry);
+        Gauge.builder("notifications.table.rows", notificationRows, AtomicLong::get)
+                .tag("table", "notifications")
+                .register(meterRegistry);
+        Gauge.builder("notifications.table.rows", archiveRows, AtomicLong::get)
+                .tag("table", "notifications_archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.notifications.retention.initial-delay:60000}",
+            fixedDelayString = "${app.notifications.retention.interval:3600000}")
+    public void run() {
+        if (properties.isEnabled()) {
+            purge();
+        }
+        refreshTableSizes();
+    }
+
+    // un passage complet ; renvoie le nombre de lignes sorties de la table notifications
+    public long purge() {
+        LocalDateTime now = LocalDateTime.now();
+        long total = 0;
+        boolean unreadRemoved = false;
+        for (Policy policy : properties.getPolicies()) {
+            if (policy.getMaxAge() == null) {
+                continue;
+            }
+            long removed = apply(policy, now.minus(policy.getMaxAge()), now);
+            total += removed;
+            if (removed > 0 && !Boolean.TRUE.equals(policy.getLue())) {
+                unreadRemoved = true;
+            }
+        }
+        if (properties.getArchiveMaxAge() != null) {
+            purgeArchive(now.minus(properties.getArchiveMaxAge()));
+        }
+        // des non lues ont disparu : les compteurs seront relus en base
+        if (unreadRemoved) {
+            unreadCounters.evictAll();
+        }
+        return total;
+    }
+
+    private long apply(Policy policy, LocalDateTime cutoff, LocalDateTime now) {
+        Counter rows = Counter.builder("notifications.retention.rows")
+                .tag("action", policy.getAction().name().toLowerCase())
+                .tag("policy", policy.describe())
+                .register(meterRegistry);
+
+        long total = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            Integer done = batchTimer.record(() -> transactionTemplate.execute(status -> {
+                List<Long> ids = notificationRepository.findIdsForRetention(
+                        cutoff, policy.getType(), policy.getLue(), Limit.of(properties.getBatchSize()));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                if (policy.getAction() == Action.ARCHIVE) {
+                    archiveRepository.archive(ids, now);
+                }
+                return notificationRepository.deleteByIds(ids);
+            }));
+            if (done == null || done == 0) {
+                break;
+            }
+            rows.increment(done);
+            total += done;
+            if (done < properties.getBatchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Conservation {} : {} notifications {}", policy.describe(), total,
+                    policy.getAction() == Action.ARCHIVE ? "archivées" : "supprimées");
+        }
+        return total;
+    }
+
+    private void purgeArchive(LocalDateTime cutoff) {
+        Counter rows = Counter.builder("notifications.retention.rows")
+                .tag("action", "purge-archive")
+                .tag("policy", "archive")
+                .register(meterRegistry);
+
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            Integer done = batchTimer.record(() -> transactionTemplate.execute(status -> {
+                List<Long> ids = archiveRepository.findIdsArchivedBefore(cutoff, Limit.of(properties.getBatchSize()));
+                return ids.isEmpty() ? 0 : archiveRepository.deleteByIds(ids);
+            }));
+            if (done == null || done == 0) {
+                break;
+            }
+            rows.increment(done);
+            if (done < properties.getBatchSize()) {
+                break;
+            }
+        }
+    }
+
+    private void refreshTableSizes() {
+        notificationRows.set(count("notifications"));
+        archiveRows.set(count("notifications_archive"));
+    }
+
+    private long count(String table) {
+        Long n = jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+        return n != null ? n : 0;
+    }
+}
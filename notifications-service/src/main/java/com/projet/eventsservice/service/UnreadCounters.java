@@ -0,0 +1,57 @@
+package com.projet.eventsservice.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projet.eventsservice.repository.NotificationRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Nombre de notifications non lues par participant, tenu en mémoire :
+// chargé une fois par un COUNT indexé, puis mis à jour à chaque création / lecture / suppression.
+// L'expiration recale régulièrement le compteur sur la base (plusieurs instances, écritures concurrentes).
+@Service
+public class UnreadCounters {
+
+    private final NotificationRepository notificationRepository;
+    private final Cache<Long, AtomicLong> counters;
+
+    public UnreadCounters(NotificationRepository notificationRepository, MeterRegistry meterRegistry,
+            @Value("${app.notifications.unread.max-size:100000}") long maxSize,
+            @Value("${app.notifications.unread.ttl:5m}") Duration ttl) {
+        this.notificationRepository = notificationRepository;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counters, "notifications.unread");
+    }
+
+    public long get(Long participantId) {
+        return counters.get(participantId,
+                id -> new AtomicLong(notificationRepository.countByParticipantIdAndLueFalse(id))).get();
+    }
+
+    // compteur absent : rien à faire, il sera lu en base à la prochaine demande
+    public void add(Long participantId, long delta) {
+        AtomicLong counter = counters.getIfPresent(participantId);
+        if (counter != null) {
+            counter.updateAndGet(v -> Math.max(0, v + delta));
+        }
+    }
+
+    public void evict(Long participantId) {
+        counters.invalidate(participantId);
+    }
+
+    public void evictAll() {
+        counters.invalidateAll();
+    }
+}
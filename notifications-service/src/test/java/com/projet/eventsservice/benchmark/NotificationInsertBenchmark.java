@@ -0,0 +1,83 @@
+package com.projet.eventsservice.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.projet.eventsservice.model.Notification;
+import com.projet.eventsservice.repository.NotificationRepository;
+import com.projet.eventsservice.service.NotificationBatchService;
+
+// Débit d'insertion : une notification par appel (POST /api/notifications) contre un lot (POST /batch).
+// Lancement : mvn test -Pbenchmark
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@Import(NotificationBatchService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationInsertBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationBatchService notificationBatchService;
+
+    @Test
+    void singleInsertsVsBatch() {
+        // échauffement des deux chemins
+        insertOneByOne(notifications(1_000));
+        notificationBatchService.createAll(notifications(1_000));
+        notificationRepository.deleteAllInBatch();
+
+        long start = System.nanoTime();
+        insertOneByOne(notifications(ROWS));
+        double singleSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        int created = notificationBatchService.createAll(notifications(ROWS));
+        double batchSeconds = (System.nanoTime() - start) / 1e9;
+
+        assertThat(created).isEqualTo(ROWS);
+        assertThat(notificationRepository.count()).isEqualTo(2L * ROWS);
+
+        System.out.printf("[bench] %d notifications : unitaire %.0f lignes/s, lot %.0f lignes/s (x%.1f)%n",
+                ROWS, ROWS / singleSeconds, ROWS / batchSeconds, singleSeconds / batchSeconds);
+    }
+
+    // une transaction par notification, comme un POST /api/notifications
+    private void insertOneByOne(List<Notification> notifications) {
+        for (Notification n : notifications) {
+            n.setDateCreation(LocalDateTime.now());
+            notificationRepository.save(n);
+        }
+    }
+
+    private static List<Notification> notifications(int count) {
+        List<Notification> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Notification n = new Notification();
+            n.setParticipantId((long) (i % 500));
+            n.setEventId(42L);
+            n.setType("NOUVEL_EVENEMENT");
+            n.setMessage("Nouvel événement publié : Conférence " + i + ".");
+            list.add(n);
+        }
+        return list;
+    }
+}
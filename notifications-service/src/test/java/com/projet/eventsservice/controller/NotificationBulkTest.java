@@ -0,0 +1,168 @@
+package com.projet.eventsservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.projet.eventsservice.model.Notification;
+import com.projet.eventsservice.repository.NotificationRepository;
+
+// Liste historique, pages par curseur et opérations groupées (lecture / suppression) d'un participant.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:notification-bulk;DB_CLOSE_DELAY=-1",
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class NotificationBulkTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private List<Notification> save(Long participantId, int count) {
+        LocalDateTime now = LocalDateTime.now();
+        return notificationRepository.saveAll(IntStream.range(0, count).mapToObj(i -> {
+            Notification notif = new Notification();
+            notif.setParticipantId(participantId);
+            notif.setType("INFO");
+            notif.setMessage("message " + i);
+            notif.setLue(false);
+            notif.setDateCreation(now.plusSeconds(i));
+            return notif;
+        }).toList());
+    }
+
+    private long unread(Long participantId) throws Exception {
+        String body = mvc.perform(get("/api/notifications/participant/{id}/non-lues", participantId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return Long.parseLong(body.replaceAll(".*\"nonLues\":(\\d+).*", "$1"));
+    }
+
+    @Test
+    void participantListKeepsItsArrayShape() throws Exception {
+        save(20L, 3);
+
+        mvc.perform(get("/api/notifications/participant/{id}", 20L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].message").value("message 2"));
+    }
+
+    @Test
+    void pagesFollowTheCursor() throws Exception {
+        save(21L, 5);
+
+        String first = mvc.perform(get("/api/notifications/participant/{id}/page", 21L).param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andExpect(jsonPath("$.items[0].message").value("message 4"))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = first.replaceAll(".*\"nextCursor\":\"([^\"]+)\".*", "$1");
+
+        mvc.perform(get("/api/notifications/participant/{id}/page", 21L).param("size", "3").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].message").value("message 1"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mvc.perform(get("/api/notifications/participant/{id}/page", 21L).param("cursor", "zzz"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void markSelectedThenAllAsRead() throws Exception {
+        List<Notification> saved = save(22L, 4);
+        save(23L, 2);
+
+        mvc.perform(patch("/api/notifications/participant/{id}/lue", 22L)
+                .param("ids", saved.get(0).getId() + "," + saved.get(1).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+        assertThat(unread(22L)).isEqualTo(2);
+
+        // déjà lues : rien n'est compté deux fois
+        mvc.perform(patch("/api/notifications/participant/{id}/lue", 22L).param("ids", String.valueOf(saved.get(0).getId())))
+                .andExpect(jsonPath("$.affected").value(0));
+
+        mvc.perform(patch("/api/notifications/participant/{id}/lue", 22L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+        assertThat(unread(22L)).isZero();
+        assertThat(unread(23L)).isEqualTo(2);
+    }
+
+    @Test
+    void idsOfAnotherParticipantAreIgnored() throws Exception {
+        List<Notification> other = save(25L, 1);
+        save(24L, 1);
+
+        mvc.perform(patch("/api/notifications/participant/{id}/lue", 24L).param("ids", String.valueOf(other.get(0).getId())))
+                .andExpect(jsonPath("$.affected").value(0));
+        mvc.perform(delete("/api/notifications/participant/{id}", 24L).param("ids", String.valueOf(other.get(0).getId())))
+                .andExpect(jsonPath("$.affected").value(0));
+
+        assertThat(notificationRepository.findById(other.get(0).getId())).hasValueSatisfying(n -> assertThat(n.isLue()).isFalse());
+    }
+
+    @Test
+    void deleteSelectedThenAll() throws Exception {
+        List<Notification> saved = save(26L, 3);
+        save(27L, 1);
+
+        mvc.perform(delete("/api/notifications/participant/{id}", 26L).param("ids", String.valueOf(saved.get(0).getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1));
+        assertThat(unread(26L)).isEqualTo(2);
+
+        mvc.perform(delete("/api/notifications/participant/{id}", 26L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+        assertThat(unread(26L)).isZero();
+        assertThat(notificationRepository.findByParticipantIdOrderByDateCreationDesc(27L)).hasSize(1);
+    }
+
+    @Test
+    void batchAcceptsOrganizerRecapsLongerThan255Characters() throws Exception {
+        String recap = "20 inscription(s) acceptée(s) pour Hackathon : " + "Participant (participant@example.com), ".repeat(40);
+
+        mvc.perform(post("/api/notifications/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"participantId\":28,\"type\":\"STATUTS_MIS_A_JOUR\",\"message\":\"" + recap + "\"}]"))
+                .andExpect(status().isOk());
+
+        assertThat(notificationRepository.findByParticipantIdOrderByDateCreationDesc(28L))
+                .singleElement()
+                .satisfies(n -> assertThat(n.getMessage()).isEqualTo(recap));
+    }
+
+    @Test
+    void batchWithAnInvalidItemIsRejectedAsBadRequest() throws Exception {
+        String tooLong = "x".repeat(2001);
+
+        mvc.perform(post("/api/notifications/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"participantId\":29,\"type\":\"INFO\",\"message\":\"ok\"},"
+                        + "{\"participantId\":29,\"type\":\"INFO\",\"message\":\"" + tooLong + "\"},"
+                        + "{\"type\":\"INFO\",\"message\":\"sans destinataire\"}]"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(notificationRepository.findByParticipantIdOrderByDateCreationDesc(29L)).isEmpty();
+    }
+}
@@ -0,0 +1,88 @@
+package com.projet.eventsservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.projet.eventsservice.model.Notification;
+import com.projet.eventsservice.repository.NotificationRepository;
+
+// Reconnexion d'un EventSource : les notifications créées après Last-Event-ID sont renvoyées, dans l'ordre.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:notification-stream;DB_CLOSE_DELAY=-1",
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class NotificationStreamTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private List<Notification> save(Long participantId, int count) {
+        return notificationRepository.saveAll(IntStream.range(0, count).mapToObj(i -> {
+            Notification notif = new Notification();
+            notif.setParticipantId(participantId);
+            notif.setType("INFO");
+            notif.setMessage("message " + i);
+            notif.setLue(false);
+            notif.setDateCreation(LocalDateTime.now());
+            return notif;
+        }).toList());
+    }
+
+    private String open(Long participantId, String lastEventId) throws Exception {
+        var builder = get("/api/notifications/participant/{id}/stream", participantId);
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    @Test
+    void reconnectionReplaysNotificationsAfterLastEventId() throws Exception {
+        List<Notification> saved = save(7L, 3);
+        save(8L, 1);
+
+        String stream = open(7L, String.valueOf(saved.get(0).getId()));
+
+        assertThat(stream).startsWith("event:non-lues");
+        assertThat(stream).doesNotContain("id:" + saved.get(0).getId() + "\n");
+        int second = stream.indexOf("id:" + saved.get(1).getId() + "\n");
+        int third = stream.indexOf("id:" + saved.get(2).getId() + "\n");
+        assertThat(second).isPositive();
+        assertThat(third).isGreaterThan(second);
+        assertThat(stream.split("event:notification", -1)).hasSize(3);
+    }
+
+    @Test
+    void firstConnectionOnlySendsTheUnreadCount() throws Exception {
+        save(9L, 2);
+
+        String stream = open(9L, null);
+
+        assertThat(stream).startsWith("event:non-lues").doesNotContain("event:notification");
+    }
+
+    @Test
+    void unreadableLastEventIdIsIgnored() throws Exception {
+        save(10L, 1);
+
+        assertThat(open(10L, "abc")).doesNotContain("event:notification");
+    }
+}